@@ -0,0 +1,137 @@
+package ru.practicum.shareit.benchmarks.booking;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.BookingStatusView;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.share.dto.CursorPage;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Первая страница списков бронирований автора и владельца по каждому состоянию {@link BookingStatusView}
+ * через {@link BookingService} на PostgreSQL. В таблице {@code items * bookingsPerItem} бронирований:
+ * у каждой вещи непересекающиеся бронирования по дню подряд, 90% из них уже в прошлом;
+ * каждое двадцатое ждёт решения, каждое двадцатое отклонено, фазы расставлены так, как их оставил бы планировщик.
+ * У вещей {@value #BOOKERS} авторов бронирований, у каждого владельца 10 вещей.
+ * {@code partialIndexes = false} удаляет частичные индексы списков, чтобы сравнить с полными индексами автора и владельца.
+ * Наполнение таблицы на 10 млн строк занимает несколько минут и выполняется один раз на прогон.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingStateQueryBenchmark {
+
+    private static final int BOOKERS = 10_000;
+    private static final int ITEMS_PER_OWNER = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private BookingStatusView state;
+
+    @Param({"true", "false"})
+    private boolean partialIndexes;
+
+    @Param({"auto", "force_custom_plan"})
+    private String planCacheMode;
+
+    @Param({"10000"})
+    private int items;
+
+    @Param({"1000"})
+    private int bookingsPerItem;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private long bookerId;
+    private long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres")
+                                + "&options=-c%20plan_cache_mode%3D" + planCacheMode,
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--shareit.scheduling.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN");
+        bookingService = context.getBean(BookingService.class);
+        seed(context.getBean(JdbcTemplate.class));
+        bookerId = BOOKERS / 2;
+        ownerId = BOOKERS + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public CursorPage<BookingDto> byBooker() {
+        return bookingService.getAllByBooker(bookerId, state, null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<BookingDto> byOwner() {
+        return bookingService.getAllByOwner(ownerId, state, null, 0, PAGE_SIZE);
+    }
+
+    /**
+     * Идентификаторы задаются явно: последовательности выдают их с шагом 50, а связи проще вычислить.
+     * Авторы бронирований получают id 1..BOOKERS, владельцы — следующие за ними.
+     */
+    private void seed(JdbcTemplate jdbcTemplate) {
+        int owners = Math.max(1, items / ITEMS_PER_OWNER);
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        Timestamp first = Timestamp.valueOf(now.minusDays(bookingsPerItem * 9L / 10));
+
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT n, 'User ' || n, 'user' || n || '@example.com' FROM generate_series(1, ?) AS n",
+                BOOKERS + owners);
+        jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id) " +
+                "SELECT n, 'Item ' || n, 'Description ' || n, true, ? + 1 + (n - 1) / ? " +
+                "FROM generate_series(1, ?) AS n", BOOKERS, ITEMS_PER_OWNER, items);
+        // Статусы: 0 — WAITING, 1 — APPROVED, 2 — REJECTED; фазы: 0 — FUTURE, 1 — CURRENT, 2 — PAST
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, item_id, owner_id, booker_id, status, phase) " +
+                "SELECT b.id, b.start_date, b.end_date, b.item_id, ? + 1 + (b.item_id - 1) / ?, b.booker_id, b.status, " +
+                "       CASE WHEN b.end_date <= CAST(? AS TIMESTAMP) THEN 2 " +
+                "            WHEN b.start_date <= CAST(? AS TIMESTAMP) THEN 1 ELSE 0 END " +
+                "FROM (SELECT (i - 1) * ? + n + 1 AS id, " +
+                "             CAST(? AS TIMESTAMP) + make_interval(days => n) AS start_date, " +
+                "             CAST(? AS TIMESTAMP) + make_interval(days => n, hours => 12) AS end_date, " +
+                "             i AS item_id, " +
+                "             1 + (i * 7919 + n) % ? AS booker_id, " +
+                "             CASE (i + n) % 20 WHEN 0 THEN 0 WHEN 1 THEN 2 ELSE 1 END AS status " +
+                "      FROM generate_series(1, ?) AS i CROSS JOIN generate_series(0, ? - 1) AS n) AS b",
+                BOOKERS, ITEMS_PER_OWNER, Timestamp.valueOf(now), Timestamp.valueOf(now), bookingsPerItem, first, first,
+                BOOKERS, items, bookingsPerItem);
+
+        if (!partialIndexes) {
+            jdbcTemplate.execute("DROP INDEX ix_bookings_booker_id_start_date_open, " +
+                    "ix_bookings_owner_id_start_date_open, " +
+                    "ix_bookings_booker_id_start_date_waiting, ix_bookings_booker_id_start_date_rejected, " +
+                    "ix_bookings_owner_id_start_date_waiting, ix_bookings_owner_id_start_date_rejected");
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.benchmarks.booking;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вставка {@code rows} бронирований и стольких же отзывов в одной транзакции через Hibernate на PostgreSQL,
+ * вперемешку, как при импорте. {@code identity} — прежняя генерация идентификаторов (переопределена
+ * в {@code META-INF/identity-ids.xml}): каждая вставка выполняется сразу, чтобы получить id.
+ * {@code pooled-lo} — последовательности из V8/V9 с {@code jdbc.batch_size} и {@code order_inserts}:
+ * вставки уходят пачками по таблицам, а за идентификаторами Hibernate обращается раз на 50 строк.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    @Param({"identity", "pooled-lo"})
+    private String ids;
+
+    @Param({"1000"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private long itemId;
+    private long userId;
+    private Instant nextStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--shareit.scheduling.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN"));
+        if (ids.equals("identity")) {
+            args.add("--spring.jpa.mapping-resources=META-INF/identity-ids.xml");
+        }
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('owner', 'owner@example.com')");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'owner@example.com'", Long.class);
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) VALUES ('Дрель', 'Простая дрель', true, ?)", userId);
+        itemId = jdbcTemplate.queryForObject("SELECT id FROM items WHERE owner_id = ?", Long.class, userId);
+        nextStart = Instant.now().truncatedTo(ChronoUnit.DAYS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int insertBookingsAndComments() {
+        return transactionTemplate.execute(status -> {
+            Item item = entityManager.getReference(Item.class, itemId);
+            User user = entityManager.getReference(User.class, userId);
+            for (int i = 0; i < rows; i++) {
+                // Бронирования одной вещи не должны пересекаться: каждое следующее — на новый день
+                Booking booking = new Booking();
+                booking.setItem(item);
+                booking.setBooker(user);
+                booking.setStart(nextStart);
+                booking.setEnd(nextStart.plus(12, ChronoUnit.HOURS));
+                booking.setStatus(BookingStatus.APPROVED);
+                entityManager.persist(booking);
+                nextStart = nextStart.plus(1, ChronoUnit.DAYS);
+
+                Comment comment = new Comment();
+                comment.setItem(item);
+                comment.setAuthor(user);
+                comment.setText("Отзыв " + i);
+                comment.setCreatedOn(Instant.now());
+                entityManager.persist(comment);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return rows;
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.benchmarks.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Цена пересылки ответа сервера через шлюз: раньше шлюз разбирал JSON в дерево объектов и сериализовал
+ * его заново ({@code jacksonRoundTrip}), теперь передаёт байты тела как есть ({@code bytePassthrough}).
+ * Запускать с {@code -prof gc} и сравнивать {@code gc.alloc.rate.norm} — байты, выделенные на одну пересылку.
+ * Сеть не участвует: тело читается из массива и пишется в массив, как при пересылке уже полученного ответа.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseRelayBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int bookings;
+
+    private final MappingJackson2HttpMessageConverter jacksonConverter = new MappingJackson2HttpMessageConverter();
+    private final ByteArrayHttpMessageConverter byteArrayConverter = new ByteArrayHttpMessageConverter();
+
+    private byte[] serverResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<BookingDto> page = new ArrayList<>(bookings);
+        for (long id = 1; id <= bookings; id++) {
+            UserDto booker = new UserDto(id, "Пользователь " + id, "user" + id + "@example.com");
+            ItemDto item = new ItemDto(id, "Вещь " + id, "Описание вещи " + id, true, null);
+            page.add(new BookingDto(id, start.plusDays(id), start.plusDays(id + 1), BookingStatus.APPROVED, booker, item));
+        }
+        serverResponse = objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jacksonRoundTrip() throws IOException {
+        Object body = jacksonConverter.read(Object.class, new ServerResponse(serverResponse));
+        GatewayResponse response = new GatewayResponse();
+        jacksonConverter.write(body, MediaType.APPLICATION_JSON, response);
+        return response.body.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] bytePassthrough() throws IOException {
+        byte[] body = byteArrayConverter.read(byte[].class, new ServerResponse(serverResponse));
+        GatewayResponse response = new GatewayResponse();
+        byteArrayConverter.write(body, MediaType.APPLICATION_JSON, response);
+        return response.body.toByteArray();
+    }
+
+    private static final class ServerResponse implements HttpInputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final byte[] body;
+
+        private ServerResponse(byte[] body) {
+            this.body = body;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class GatewayResponse implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.benchmarks.item;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.enums.SearchMode;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Страница поиска вещей через {@link ItemService} на PostgreSQL в каждом режиме {@link SearchMode}:
+ * {@code LIKE} по названию и описанию против GIN-индексов {@code tsvector} и {@code pg_trgm}.
+ * Название вещи — прилагательное и существительное из небольшого словаря, в описании есть артикул
+ * {@code sku<id>}, каждая десятая вещь недоступна. Запросы: частое слово, пара слов и артикул одной вещи.
+ * {@code from} сравнивает первую страницу с удалённой. Наполнение таблицы на 1 млн строк занимает
+ * несколько минут и выполняется один раз на прогон.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final int ITEMS_PER_OWNER = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"SUBSTRING", "FULL_TEXT", "FUZZY"})
+    private SearchMode mode;
+
+    @Param({"drill", "cordless drill", "sku424242"})
+    private String text;
+
+    @Param({"0", "200"})
+    private int from;
+
+    @Param({"1000000"})
+    private int items;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--shareit.scheduling.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN");
+        itemService = context.getBean(ItemService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> search() {
+        return itemService.searchAll(text, mode, from, PAGE_SIZE);
+    }
+
+    /**
+     * Идентификаторы задаются явно, как в {@code BookingStateQueryBenchmark}: владельцы получают id 1..items / 10.
+     */
+    private void seed(JdbcTemplate jdbcTemplate) {
+        int owners = Math.max(1, items / ITEMS_PER_OWNER);
+
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT n, 'User ' || n, 'user' || n || '@example.com' FROM generate_series(1, ?) AS n", owners);
+        jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id) " +
+                "SELECT n, " +
+                "       (ARRAY['cordless', 'electric', 'compact', 'heavy', 'portable', " +
+                "              'professional', 'industrial', 'manual', 'rotary', 'angle'])[1 + n % 10] " +
+                "           || ' ' || w.nouns[1 + (n / 10) % 20], " +
+                "       'Model sku' || n || ', ' || " +
+                "       (ARRAY['steel', 'titanium', 'carbon', 'aluminium', 'wooden', 'plastic', 'rubber'])[1 + n % 7] " +
+                "           || ' ' || w.nouns[1 + (n * 7) % 20] || ' included', " +
+                "       n % 10 <> 0, 1 + (n - 1) / ? " +
+                "FROM generate_series(1, ?) AS n " +
+                "CROSS JOIN (SELECT ARRAY['drill', 'saw', 'grinder', 'sander', 'hammer', 'wrench', 'ladder', " +
+                "                         'tent', 'kayak', 'projector', 'speaker', 'camera', 'bicycle', 'scooter', " +
+                "                         'generator', 'compressor', 'vacuum', 'mixer', 'router', 'jigsaw'] AS nouns) AS w",
+                ITEMS_PER_OWNER, items);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.benchmarks.item;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Список вещей владельца с датами последнего и следующего бронирования на PostgreSQL:
+ * агрегация по всем бронированиям при каждом чтении против готовой сводки из {@code item_booking_summary}.
+ * У владельца {@code items} вещей, у каждой {@code bookingsPerItem} непересекающихся бронирований
+ * по дню подряд, половина из которых уже в прошлом.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerItemsBenchmark {
+
+    private static final String AGGREGATE_ON_READ = "SELECT i.id, " +
+            "       MAX(CASE WHEN b.end_date < ? THEN b.end_date END) AS last_booking_end, " +
+            "       MIN(CASE WHEN b.start_date > ? THEN b.start_date END) AS next_booking_start " +
+            "FROM items AS i " +
+            "LEFT JOIN bookings AS b ON b.item_id = i.id " +
+            "WHERE i.owner_id = ? " +
+            "GROUP BY i.id";
+
+    private static final String READ_SUMMARY = "SELECT i.id, s.last_booking_end, s.next_booking_start " +
+            "FROM items AS i " +
+            "LEFT JOIN item_booking_summary AS s ON s.item_id = i.id " +
+            "WHERE i.owner_id = ?";
+
+    @Param({"10000"})
+    private int items;
+
+    @Param({"100"})
+    private int bookingsPerItem;
+
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate jdbcTemplate;
+    private long ownerId;
+    private Timestamp now;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        LocalDateTime start = LocalDateTime.now(ZoneOffset.UTC).minusDays(bookingsPerItem / 2);
+        now = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('owner', 'owner@example.com'), " +
+                "('booker', 'booker@example.com')");
+        ownerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'owner@example.com'", Long.class);
+        long bookerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'booker@example.com'", Long.class);
+
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) " +
+                "SELECT 'Item ' || n, 'Description ' || n, true, ? FROM generate_series(1, ?) AS n", ownerId, items);
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, owner_id, booker_id, status) " +
+                "SELECT CAST(? AS TIMESTAMP) + make_interval(days => n), " +
+                "       CAST(? AS TIMESTAMP) + make_interval(days => n, hours => 12), i.id, i.owner_id, ?, 1 " +
+                "FROM items AS i CROSS JOIN generate_series(0, ? - 1) AS n",
+                Timestamp.valueOf(start), Timestamp.valueOf(start), bookerId, bookingsPerItem);
+
+        // Сводка на момент now, как её сохранил бы ItemBookingSummaryService
+        jdbcTemplate.update("INSERT INTO item_booking_summary (item_id, last_booking_end, next_booking_start) " +
+                "SELECT a.id, a.last_booking_end, a.next_booking_start FROM (" + AGGREGATE_ON_READ + ") AS a",
+                now, now, ownerId);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> aggregateOnRead() {
+        return jdbcTemplate.queryForList(AGGREGATE_ON_READ, now, now, ownerId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> readSummary() {
+        return jdbcTemplate.queryForList(READ_SUMMARY, ownerId);
+    }
+}
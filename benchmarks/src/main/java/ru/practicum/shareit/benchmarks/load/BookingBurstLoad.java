@@ -0,0 +1,43 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Всплеск бронирований: арендаторы массово создают бронирования и проверяют свои списки,
+ * владельцы разбирают ожидающие решения.
+ * Вес эндпоинта — число его потоков в группе, всего 16 одновременных клиентов; без пересборки веса
+ * меняются параметром {@code -tg}.
+ * Режим SampleTime даёт перцентили задержки каждого эндпоинта, Throughput — его пропускную способность.
+ * Цель и объём наполнения описаны в {@link LoadTarget}.
+ */
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class BookingBurstLoad {
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(10)
+    public byte[] createBooking(LoadTarget target) throws IOException, InterruptedException {
+        return target.createBooking();
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(3)
+    public byte[] approveBooking(LoadTarget target) throws IOException, InterruptedException {
+        return target.approveBooking();
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(3)
+    public byte[] bookerBookings(LoadTarget target) throws IOException, InterruptedException {
+        return target.bookerBookings();
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Идентификаторы, созданные наполнением. {@code freeFrom} — первый день, после которого у вещей
+ * нет бронирований: новые бронирования прогона начинаются не раньше него.
+ */
+record LoadData(List<Long> ownerIds,
+                List<Long> bookerIds,
+                List<Long> requesterIds,
+                List<Long> itemIds,
+                Map<Long, Long> itemOwners,
+                List<Long> requestIds,
+                List<PendingBooking> pendingBookings,
+                LocalDateTime freeFrom) {
+
+    record PendingBooking(long bookingId, long ownerId) {
+    }
+}
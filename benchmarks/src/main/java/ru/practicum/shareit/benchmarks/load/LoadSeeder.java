@@ -0,0 +1,175 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import ru.practicum.shareit.benchmarks.load.LoadData.PendingBooking;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Наполняет сервис через публичный API, поэтому одинаково работает и со шлюзом из docker-compose,
+ * и с сервером на встроенном PostgreSQL. Почта пользователей помечается идентификатором прогона,
+ * чтобы повторные прогоны на той же базе не конфликтовали.
+ * <p>
+ * У каждой вещи {@code bookingsPerItem} непересекающихся бронирований по дню подряд: половина подтверждена,
+ * каждое десятое отклонено, остальные ждут решения владельца. Прошедших бронирований нет:
+ * API не принимает бронирования в прошлом.
+ */
+final class LoadSeeder {
+    static final String[] WORDS = {
+            "дрель", "перфоратор", "шуруповёрт", "лестница", "палатка", "велосипед", "самокат", "проектор",
+            "пылесос", "генератор", "болгарка", "лобзик", "удочка", "байдарка", "мангал", "компрессор",
+            "сноуборд", "тележка", "спальник", "штатив"
+    };
+
+    private static final int CONCURRENCY = 16;
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final ShareItClient client;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    LoadSeeder(ShareItClient client) {
+        this.client = client;
+    }
+
+    LoadData seed(int owners, int itemsPerOwner, int bookers, int requests, int bookingsPerItem)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Long> ownerIds = parallel(executor, owners, n -> createUser("owner", n));
+            List<Long> bookerIds = parallel(executor, bookers, n -> createUser("booker", n));
+            List<Long> requesterIds = bookerIds.subList(0, Math.min(requests, bookerIds.size()));
+            List<Long> requestIds = parallel(executor, requests,
+                    n -> client.post("/requests", requesterIds.get(n % requesterIds.size()),
+                            Map.of("description", "Нужен " + word(n) + " на выходные")).get("id").asLong());
+
+            List<List<Long>> itemsByOwner = parallel(executor, owners,
+                    n -> createItems(ownerIds.get(n), n * itemsPerOwner, itemsPerOwner, requestIds));
+            Map<Long, Long> itemOwners = new LinkedHashMap<>();
+            for (int n = 0; n < owners; n++) {
+                for (Long itemId : itemsByOwner.get(n)) {
+                    itemOwners.put(itemId, ownerIds.get(n));
+                }
+            }
+            List<Long> itemIds = List.copyOf(itemOwners.keySet());
+
+            LocalDateTime firstDay = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(2);
+            List<List<Long>> bookingsByItem = parallel(executor, itemIds.size(),
+                    n -> createBookings(itemIds.get(n), bookerIds, n, bookingsPerItem, firstDay));
+
+            Map<Long, List<Long>> approvedByOwner = new HashMap<>();
+            Map<Long, List<Long>> rejectedByOwner = new HashMap<>();
+            List<PendingBooking> pending = new ArrayList<>();
+            for (int n = 0; n < itemIds.size(); n++) {
+                Long ownerId = itemOwners.get(itemIds.get(n));
+                List<Long> bookingIds = bookingsByItem.get(n);
+                for (int k = 0; k < bookingIds.size(); k++) {
+                    if (k % 2 == 0) {
+                        approvedByOwner.computeIfAbsent(ownerId, id -> new ArrayList<>()).add(bookingIds.get(k));
+                    } else if (k % 10 == 1) {
+                        rejectedByOwner.computeIfAbsent(ownerId, id -> new ArrayList<>()).add(bookingIds.get(k));
+                    } else {
+                        pending.add(new PendingBooking(bookingIds.get(k), ownerId));
+                    }
+                }
+            }
+            decide(executor, approvedByOwner, true);
+            decide(executor, rejectedByOwner, false);
+
+            return new LoadData(ownerIds, bookerIds, requesterIds, itemIds, itemOwners, requestIds, pending,
+                    firstDay.plusDays(bookingsPerItem + 1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static String word(int n) {
+        return WORDS[n % WORDS.length];
+    }
+
+    private long createUser(String role, int n) throws Exception {
+        String name = role + "-" + runId + "-" + n;
+        return client.post("/users", null, Map.of("name", name, "email", name + "@example.com")).get("id").asLong();
+    }
+
+    /**
+     * Каждая четвёртая вещь создаётся в ответ на запрос, чтобы у запросов были вещи.
+     */
+    private List<Long> createItems(Long ownerId, int first, int count, List<Long> requestIds) throws Exception {
+        List<Long> itemIds = new ArrayList<>(count);
+        for (int from = 0; from < count; from += MAX_BATCH_SIZE) {
+            List<Map<String, Object>> batch = new ArrayList<>();
+            for (int n = first + from; n < first + Math.min(count, from + MAX_BATCH_SIZE); n++) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("name", word(n) + " " + n);
+                item.put("description", "Сдаю " + word(n) + ", состояние хорошее");
+                item.put("available", true);
+                if (n % 4 == 0 && !requestIds.isEmpty()) {
+                    item.put("requestId", requestIds.get(n / 4 % requestIds.size()));
+                }
+                batch.add(item);
+            }
+            for (JsonNode result : client.post("/items/batch", ownerId, batch)) {
+                if (result.hasNonNull("error")) {
+                    throw new IllegalStateException("Вещь не создана: " + result.get("error").asText());
+                }
+                itemIds.add(result.get("item").get("id").asLong());
+            }
+        }
+        return itemIds;
+    }
+
+    private List<Long> createBookings(Long itemId, List<Long> bookerIds, int n, int count, LocalDateTime firstDay)
+            throws Exception {
+        List<Long> bookingIds = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            LocalDateTime start = firstDay.plusDays(k).plusHours(10);
+            Map<String, Object> booking = Map.of("itemId", itemId, "start", start, "end", start.plusHours(12));
+            Long bookerId = bookerIds.get((n * 7919 + k) % bookerIds.size());
+            bookingIds.add(client.post("/bookings", bookerId, booking).get("id").asLong());
+        }
+        return bookingIds;
+    }
+
+    private void decide(ExecutorService executor, Map<Long, List<Long>> bookingsByOwner, boolean approved)
+            throws InterruptedException, ExecutionException {
+        List<Long> ownerIds = List.copyOf(bookingsByOwner.keySet());
+        parallel(executor, ownerIds.size(), n -> {
+            List<Long> bookingIds = bookingsByOwner.get(ownerIds.get(n));
+            for (int from = 0; from < bookingIds.size(); from += MAX_BATCH_SIZE) {
+                List<Long> batch = bookingIds.subList(from, Math.min(bookingIds.size(), from + MAX_BATCH_SIZE));
+                client.expect(client.send("PATCH", "/bookings/batch?approved=" + approved, ownerIds.get(n), batch));
+            }
+            return null;
+        });
+    }
+
+    private static <T> List<T> parallel(ExecutorService executor, int count, Task<T> task)
+            throws InterruptedException, ExecutionException {
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            int index = n;
+            futures.add(executor.submit((Callable<T>) () -> task.run(index)));
+        }
+        List<T> results = new ArrayList<>(count);
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface Task<T> {
+        T run(int n) throws Exception;
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.benchmarks.load.LoadData.PendingBooking;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Цель нагрузочного прогона и запросы к её эндпоинтам. По умолчанию ({@code target = embedded}) сервер
+ * поднимается в этом процессе на встроенном PostgreSQL; иначе {@code target} — адрес уже запущенного
+ * шлюза или сервера, например {@code http://localhost:8080} из docker-compose.
+ * Объём наполнения задаётся параметрами {@code owners}, {@code itemsPerOwner}, {@code bookers},
+ * {@code requests} и {@code bookingsPerItem}.
+ */
+@State(Scope.Benchmark)
+public class LoadTarget {
+    private static final String EMBEDDED = "embedded";
+    private static final int PAGE_SIZE = 20;
+    private static final int FREE_DAYS = 3650;
+    private static final String[] BOOKER_STATES = {"ALL", "CURRENT", "FUTURE", "WAITING"};
+    private static final String[] OWNER_STATES = {"ALL", "FUTURE", "WAITING", "WAITING", "REJECTED"};
+
+    @Param({EMBEDDED})
+    private String target;
+
+    @Param({"200"})
+    private int owners;
+
+    @Param({"20"})
+    private int itemsPerOwner;
+
+    @Param({"500"})
+    private int bookers;
+
+    @Param({"200"})
+    private int requests;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    private final Queue<PendingBooking> pendingBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createdBookings = new AtomicLong();
+    private final AtomicLong rejectedBookings = new AtomicLong();
+    private final AtomicLong conflictingDecisions = new AtomicLong();
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ShareItClient client;
+    private LoadData data;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException, ExecutionException {
+        String baseUrl = target;
+        if (EMBEDDED.equals(target)) {
+            postgres = EmbeddedPostgres.start();
+            context = new SpringApplicationBuilder(ShareItServer.class)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres")
+                                    + "&options=-c%20plan_cache_mode%3Dforce_custom_plan",
+                            "--spring.datasource.username=postgres",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN");
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        client = new ShareItClient(baseUrl);
+        data = new LoadSeeder(client).seed(owners, itemsPerOwner, bookers, requests, bookingsPerItem);
+        pendingBookings.addAll(data.pendingBookings());
+    }
+
+    /**
+     * Отказы по бизнес-правилам не прерывают прогон, но их доля печатается: если отказов большинство,
+     * замеры описывают не ту нагрузку.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("Бронирования: создано %d, отклонено из-за пересечений %d; " +
+                        "решений, отклонённых из-за конфликта, %d%n",
+                createdBookings.get(), rejectedBookings.get(), conflictingDecisions.get());
+        if (context != null) {
+            context.close();
+            postgres.close();
+        }
+    }
+
+    byte[] searchItems() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String word = LoadSeeder.word(random.nextInt(LoadSeeder.WORDS.length));
+        // Часть запросов ищет по началу слова, как при вводе в строку поиска
+        String text = random.nextInt(4) == 0 ? word.substring(0, 4) : word;
+        String query = "?size=" + PAGE_SIZE + "&text=" + URLEncoder.encode(text, StandardCharsets.UTF_8);
+        return client.get("/items/search" + query, null);
+    }
+
+    byte[] getItem() throws IOException, InterruptedException {
+        return client.get("/items/" + any(data.itemIds()), any(data.bookerIds()));
+    }
+
+    byte[] ownerItems() throws IOException, InterruptedException {
+        return client.get("/items", any(data.ownerIds()));
+    }
+
+    byte[] ownerBookings() throws IOException, InterruptedException {
+        return client.get("/bookings/owner?size=" + PAGE_SIZE + "&state=" + any(OWNER_STATES), any(data.ownerIds()));
+    }
+
+    byte[] bookerBookings() throws IOException, InterruptedException {
+        return client.get("/bookings?size=" + PAGE_SIZE + "&state=" + any(BOOKER_STATES), any(data.bookerIds()));
+    }
+
+    byte[] ownRequests() throws IOException, InterruptedException {
+        return client.get("/requests", any(data.requesterIds()));
+    }
+
+    byte[] allRequests() throws IOException, InterruptedException {
+        return client.get("/requests/all", null);
+    }
+
+    /**
+     * Бронирование на случайный час после наполненных дней. Созданное бронирование попадает в очередь
+     * ожидающих решения владельца.
+     */
+    byte[] createBooking() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long itemId = any(data.itemIds());
+        LocalDateTime start = data.freeFrom().plusDays(random.nextInt(FREE_DAYS)).plusHours(random.nextInt(24));
+        LocalDateTime end = start.plusHours(1 + random.nextInt(12));
+        Map<String, Object> booking = Map.of("itemId", itemId, "start", start, "end", end);
+        HttpResponse<byte[]> response = client.send("POST", "/bookings", any(data.bookerIds()), booking);
+        // Пересечение с уже созданным бронированием сервер отклоняет с кодом 400
+        byte[] body = client.expect(response, 400);
+        if (response.statusCode() == 400) {
+            rejectedBookings.incrementAndGet();
+        } else {
+            createdBookings.incrementAndGet();
+            pendingBookings.add(new PendingBooking(client.json(body).get("id").asLong(), data.itemOwners().get(itemId)));
+        }
+        return body;
+    }
+
+    byte[] approveBooking() throws IOException, InterruptedException {
+        PendingBooking booking = pendingBookings.poll();
+        if (booking == null) {
+            throw new IllegalStateException("Закончились бронирования, ожидающие решения: " +
+                    "увеличьте bookingsPerItem или долю потоков createBooking");
+        }
+        boolean approved = ThreadLocalRandom.current().nextInt(10) != 0;
+        HttpResponse<byte[]> response = client.send("PATCH",
+                "/bookings/" + booking.bookingId() + "?approved=" + approved, booking.ownerId(), null);
+        // Подтверждение, пересекающееся с уже подтверждённым бронированием, отклоняется
+        byte[] body = client.expect(response, 400, 409);
+        if (response.statusCode() >= 300) {
+            conflictingDecisions.incrementAndGet();
+        }
+        return body;
+    }
+
+    private static <T> T any(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static String any(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Кабинеты владельцев: список своих вещей с датами бронирований, бронирования вещей по состояниям
+ * и решения по ожидающим бронированиям. Арендаторы тем временем создают новые бронирования и смотрят
+ * ответы на свои запросы вещей.
+ * Вес эндпоинта — число его потоков в группе, всего 16 одновременных клиентов; без пересборки веса
+ * меняются параметром {@code -tg}.
+ * Режим SampleTime даёт перцентили задержки каждого эндпоинта, Throughput — его пропускную способность.
+ * Цель и объём наполнения описаны в {@link LoadTarget}.
+ */
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class OwnerDashboardLoad {
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(6)
+    public byte[] ownerItems(LoadTarget target) throws IOException, InterruptedException {
+        return target.ownerItems();
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(6)
+    public byte[] ownerBookings(LoadTarget target) throws IOException, InterruptedException {
+        return target.ownerBookings();
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(1)
+    public byte[] approveBooking(LoadTarget target) throws IOException, InterruptedException {
+        return target.approveBooking();
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(2)
+    public byte[] createBooking(LoadTarget target) throws IOException, InterruptedException {
+        return target.createBooking();
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(1)
+    public byte[] ownRequests(LoadTarget target) throws IOException, InterruptedException {
+        return target.ownRequests();
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск вещей: больше всего запросов приходится на поиск, заметно меньше — на карточку найденной вещи,
+ * изредка после поиска создаётся бронирование или просматриваются запросы вещей.
+ * Вес эндпоинта — число его потоков в группе, всего 16 одновременных клиентов; без пересборки веса
+ * меняются параметром {@code -tg}.
+ * Режим SampleTime даёт перцентили задержки каждого эндпоинта, Throughput — его пропускную способность.
+ * Цель и объём наполнения описаны в {@link LoadTarget}.
+ */
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class SearchHeavyLoad {
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(10)
+    public byte[] searchItems(LoadTarget target) throws IOException, InterruptedException {
+        return target.searchItems();
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(4)
+    public byte[] getItem(LoadTarget target) throws IOException, InterruptedException {
+        return target.getItem();
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(1)
+    public byte[] createBooking(LoadTarget target) throws IOException, InterruptedException {
+        return target.createBooking();
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(1)
+    public byte[] allRequests(LoadTarget target) throws IOException, InterruptedException {
+        return target.allRequests();
+    }
+}
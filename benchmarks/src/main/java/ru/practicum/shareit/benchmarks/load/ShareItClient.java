@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * HTTP-клиент нагрузочного прогона. Один экземпляр используется всеми потоками: {@link HttpClient}
+ * держит пул соединений, как держал бы его фронтенд перед шлюзом.
+ */
+final class ShareItClient {
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final String baseUrl;
+
+    ShareItClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    byte[] get(String path, Long userId) throws IOException, InterruptedException {
+        return expect(send("GET", path, userId, null));
+    }
+
+    JsonNode post(String path, Long userId, Object body) throws IOException, InterruptedException {
+        return json(expect(send("POST", path, userId, body)));
+    }
+
+    HttpResponse<byte[]> send(String method, String path, Long userId, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (userId != null) {
+            request.header(X_SHARER_USER_ID, userId.toString());
+        }
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Возвращает тело успешного ответа или ответа с одним из ожидаемых кодов ошибки. Остальные ответы
+     * прерывают прогон: замеры по ошибочным ответам выглядели бы как очень быстрый сервис.
+     */
+    byte[] expect(HttpResponse<byte[]> response, int... expectedErrors) {
+        int status = response.statusCode();
+        if (status >= 200 && status < 300) {
+            return response.body();
+        }
+        for (int expected : expectedErrors) {
+            if (status == expected) {
+                return response.body();
+            }
+        }
+        throw new IllegalStateException(response.request().method() + " " + response.request().uri() +
+                " вернул " + status + ": " + new String(response.body(), StandardCharsets.UTF_8));
+    }
+
+    JsonNode json(byte[] body) throws IOException {
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.benchmarks.lock;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import ru.practicum.shareit.item.lock.ItemLocks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность {@link ItemLocks} при 1, 8 и 64 потоках.
+ * {@code stripes = 1} соответствует одной глобальной блокировке и служит точкой отсчёта.
+ * При {@code HOT_ITEM} все потоки меняют одну вещь, при {@code SPREAD_ITEMS} — случайные из тысячи:
+ * во втором случае рост потоков должен давать рост пропускной способности, а не её падение.
+ * Транзакция заменена пустой, чтобы измерялась только сама блокировка и работа внутри неё.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemLocksBenchmark {
+
+    private static final long SPREAD_ITEMS_COUNT = 1_000;
+
+    @Param({"1", "64"})
+    private int stripes;
+
+    @Param({"HOT_ITEM", "SPREAD_ITEMS"})
+    private Workload workload;
+
+    /**
+     * Объём работы под блокировкой в условных единицах {@link Blackhole#consumeCPU(long)}.
+     */
+    @Param({"200"})
+    private long work;
+
+    private ItemLocks itemLocks;
+
+    public enum Workload {
+        HOT_ITEM,
+        SPREAD_ITEMS
+    }
+
+    @Setup
+    public void setUp() {
+        itemLocks = new ItemLocks(stripes, new NoOpTransactionManager());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object threads1() {
+        return lockAndWork();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object threads8() {
+        return lockAndWork();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Object threads64() {
+        return lockAndWork();
+    }
+
+    private Object lockAndWork() {
+        long itemId = workload == Workload.HOT_ITEM
+                ? 1L
+                : ThreadLocalRandom.current().nextLong(1, SPREAD_ITEMS_COUNT + 1);
+        return itemLocks.executeLocked(itemId, () -> {
+            Blackhole.consumeCPU(work);
+            return itemId;
+        });
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.benchmarks.mapper;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сущности для бенчмарков преобразования в DTO: такие же, какими их возвращают списочные запросы,
+ * с подгруженными вещью, автором и владельцем.
+ */
+final class DtoFixtures {
+    static final Instant START = Instant.parse("2026-01-01T12:00:00Z");
+
+    private DtoFixtures() {
+    }
+
+    static List<Booking> bookings(int rows) {
+        User owner = user(0);
+        List<Booking> bookings = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            Booking booking = new Booking();
+            booking.setId(id);
+            booking.setStart(START.plus(id, ChronoUnit.DAYS));
+            booking.setEnd(START.plus(id + 1, ChronoUnit.DAYS));
+            booking.setItem(item(id, owner));
+            booking.setBooker(user(id));
+            booking.setStatus(BookingStatus.APPROVED);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    static List<Item> items(int rows) {
+        User owner = user(0);
+        List<Item> items = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            items.add(item(id, owner));
+        }
+        return items;
+    }
+
+    static List<Comment> comments(Item item, int count) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (long n = 1; n <= count; n++) {
+            Comment comment = new Comment();
+            comment.setId(item.getId() * 100 + n);
+            comment.setText("Отзыв " + n + " о вещи " + item.getId());
+            comment.setItem(item);
+            comment.setAuthor(user(n));
+            comment.setCreatedOn(START.plus(n, ChronoUnit.HOURS));
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    private static Item item(long id, User owner) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("Вещь " + id);
+        item.setDescription("Описание вещи " + id);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return item;
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Пользователь " + id);
+        user.setEmail("user" + id + "@example.com");
+        return user;
+    }
+}
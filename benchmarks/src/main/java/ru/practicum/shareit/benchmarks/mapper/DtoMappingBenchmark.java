@@ -0,0 +1,93 @@
+package ru.practicum.shareit.benchmarks.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.FullItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.share.util.DateTimeUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование страницы из {@code rows} сущностей в DTO так, как это делают списочные эндпоинты:
+ * одна операция — одна страница. У каждой вещи {@code commentsPerItem} отзывов.
+ * Преобразования дат измеряются по одному вызову: они выполняются для каждой даты каждой строки.
+ * Запускать с {@code -prof gc}: {@code gc.alloc.rate.norm} — байты, выделенные на операцию.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"20", "1000"})
+    private int rows;
+
+    @Param({"5"})
+    private int commentsPerItem;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<List<Comment>> itemComments;
+    private List<Comment> comments;
+    private Instant instant;
+    private LocalDateTime localDateTime;
+
+    @Setup
+    public void setUp() {
+        bookings = DtoFixtures.bookings(rows);
+        items = DtoFixtures.items(rows);
+        itemComments = new ArrayList<>(rows);
+        comments = new ArrayList<>();
+        for (Item item : items) {
+            List<Comment> forItem = DtoFixtures.comments(item, commentsPerItem);
+            itemComments.add(forItem);
+            comments.addAll(forItem);
+        }
+        instant = DtoFixtures.START;
+        localDateTime = DateTimeUtils.toLocalDateTime(instant);
+    }
+
+    @Benchmark
+    public List<BookingDto> toBookingDto() {
+        return bookings.stream().map(BookingMapper::toBookingDto).toList();
+    }
+
+    @Benchmark
+    public List<FullItemDto> toFullItemDto() {
+        List<FullItemDto> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Item item = items.get(i);
+            result.add(ItemMapper.toFullItemDto(item, instant, instant.plus(1, ChronoUnit.DAYS), itemComments.get(i)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<CommentDto> toCommentDto() {
+        return comments.stream().map(CommentMapper::toCommentDto).toList();
+    }
+
+    @Benchmark
+    public LocalDateTime toLocalDateTime() {
+        return DateTimeUtils.toLocalDateTime(instant);
+    }
+
+    @Benchmark
+    public Instant toUTC() {
+        return DateTimeUtils.toUTC(localDateTime);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmarks.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.FullItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация списков {@link BookingDto} и {@link FullItemDto} в JSON с настройками дат, как у сервера.
+ * Одна операция — один ответ из {@code rows} элементов. Тело пишется в переиспользуемый буфер,
+ * поэтому выделение памяти ({@code -prof gc}, {@code gc.alloc.rate.norm}) относится к самой сериализации.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"20", "1000"})
+    private int rows;
+
+    @Param({"5"})
+    private int commentsPerItem;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private ObjectWriter bookingWriter;
+    private ObjectWriter itemWriter;
+    private List<BookingDto> bookings;
+    private List<FullItemDto> items;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        bookingWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, BookingDto.class));
+        itemWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, FullItemDto.class));
+
+        bookings = DtoFixtures.bookings(rows).stream().map(BookingMapper::toBookingDto).toList();
+        Instant last = DtoFixtures.START;
+        Instant next = last.plus(1, ChronoUnit.DAYS);
+        items = DtoFixtures.items(rows).stream()
+                .map(item -> toFullItemDto(item, last, next))
+                .toList();
+    }
+
+    @Benchmark
+    public int writeBookingDtos() throws IOException {
+        body.reset();
+        bookingWriter.writeValue(body, bookings);
+        return body.size();
+    }
+
+    @Benchmark
+    public int writeFullItemDtos() throws IOException {
+        body.reset();
+        itemWriter.writeValue(body, items);
+        return body.size();
+    }
+
+    private FullItemDto toFullItemDto(Item item, Instant last, Instant next) {
+        return ItemMapper.toFullItemDto(item, last, next, DtoFixtures.comments(item, commentsPerItem));
+    }
+}
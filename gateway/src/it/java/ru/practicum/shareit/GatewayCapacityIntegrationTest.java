@@ -0,0 +1,125 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Сколько запросов шлюз держит одновременно, когда сервер отвечает медленно.
+ * Вместо сервера запущена заглушка с фиксированной задержкой, которая считает, сколько запросов
+ * ждут у неё одновременно, а у Tomcat оставлено {@link #PLATFORM_THREADS} потоков.
+ * С потоками платформы это число упирается в размер пула Tomcat, с виртуальными — в число запросов.
+ */
+class GatewayCapacityIntegrationTest {
+
+    private static final int CONCURRENT_REQUESTS = 60;
+    private static final int PLATFORM_THREADS = 20;
+    private static final Duration SERVER_DELAY = Duration.ofSeconds(3);
+    private static final String USER_JSON = "{\"id\":1,\"name\":\"User\",\"email\":\"user@example.com\"}";
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private static HttpServer slowServer;
+    private static HttpClient httpClient;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        slowServer = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS * 2);
+        slowServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        slowServer.createContext("/users", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SERVER_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            byte[] body = USER_JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        slowServer.start();
+
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        slowServer.stop(0);
+        httpClient.close();
+    }
+
+    @Test
+    void virtualThreads_shouldHoldMoreConcurrentRequestsThanTomcatThreadPool() throws Exception {
+        int platformConcurrency = measureConcurrency(false);
+        int virtualConcurrency = measureConcurrency(true);
+
+        System.out.printf("Одновременных запросов через шлюз: потоки платформы — %d, виртуальные потоки — %d%n",
+                platformConcurrency, virtualConcurrency);
+        assertEquals(PLATFORM_THREADS, platformConcurrency);
+        assertEquals(CONCURRENT_REQUESTS, virtualConcurrency);
+    }
+
+    private int measureConcurrency(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--shareit-server.url=http://localhost:" + slowServer.getAddress().getPort())) {
+            URI uri = URI.create("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port") + "/users/1");
+
+            // Прогрев DispatcherServlet, пула соединений и JIT в замер не входит
+            sendConcurrently(uri, PLATFORM_THREADS);
+
+            maxInFlight.set(0);
+            sendConcurrently(uri, CONCURRENT_REQUESTS);
+            return maxInFlight.get();
+        }
+    }
+
+    private void sendConcurrently(URI uri, int requests) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                statuses.add(executor.submit(() -> send(uri)));
+            }
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get());
+            }
+        }
+    }
+
+    private int send(URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Заглушка сервера запоминает строку запроса и тело пакета и отвечает результатом для каждого бронирования.
+ */
+class BookingBatchApproveIntegrationTest {
+
+    private static final String RESULTS_JSON = "[{\"bookingId\":1,\"status\":\"APPROVED\",\"error\":null}]";
+
+    private static final AtomicInteger serverCalls = new AtomicInteger();
+    private static final AtomicReference<String> serverQuery = new AtomicReference<>();
+    private static final AtomicReference<String> serverBody = new AtomicReference<>();
+
+    private static HttpServer stubServer;
+    private static ConfigurableApplicationContext gateway;
+    private static HttpClient httpClient;
+    private static String gatewayUrl;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 16);
+        stubServer.createContext("/bookings/batch", BookingBatchApproveIntegrationTest::respond);
+        stubServer.start();
+
+        gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--shareit-server.url=http://localhost:" + stubServer.getAddress().getPort());
+        gatewayUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        gateway.close();
+        stubServer.stop(0);
+        httpClient.close();
+    }
+
+    @BeforeEach
+    void resetServer() {
+        serverCalls.set(0);
+        serverQuery.set(null);
+        serverBody.set(null);
+    }
+
+    @Test
+    void approveAll_shouldForwardIdsAndDecision() throws Exception {
+        HttpResponse<String> response = send("true", "[1,2,3]");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(RESULTS_JSON, response.body());
+        assertEquals("approved=true", serverQuery.get());
+        assertEquals("[1,2,3]", serverBody.get());
+    }
+
+    @Test
+    void approveAll_shouldRejectInvalidIdsWithoutCallingServer() throws Exception {
+        assertEquals(400, send("true", "[1,0]").statusCode());
+        assertEquals(400, send("true", "[]").statusCode());
+        assertEquals(0, serverCalls.get());
+    }
+
+    private static HttpResponse<String> send(String approved, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gatewayUrl + "/bookings/batch?approved=" + approved))
+                .header("X-Sharer-User-Id", "1")
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        serverCalls.incrementAndGet();
+        serverQuery.set(exchange.getRequestURI().getQuery());
+        serverBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        byte[] body = RESULTS_JSON.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
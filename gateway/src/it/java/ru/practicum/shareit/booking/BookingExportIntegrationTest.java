@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Заглушка сервера отдаёт первую строку выгрузки и дописывает остальное только после того,
+ * как клиент шлюза её прочитал: так видно, что шлюз не собирает тело ответа целиком.
+ */
+class BookingExportIntegrationTest {
+
+    private static final String FIRST_LINE = "{\"id\":2,\"status\":\"APPROVED\"}";
+    private static final String SECOND_LINE = "{\"id\":1,\"status\":\"WAITING\"}";
+    private static final String NOT_FOUND_JSON = "{\"error\":\"Пользователь с id = 2 не найден\"}";
+
+    private static final AtomicReference<String> serverQuery = new AtomicReference<>();
+    private static volatile CountDownLatch firstLineRead;
+    private static volatile boolean firstLineReadBeforeRest;
+
+    private static HttpServer stubServer;
+    private static ConfigurableApplicationContext gateway;
+    private static HttpClient httpClient;
+    private static String gatewayUrl;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 16);
+        stubServer.createContext("/bookings/owner/export", BookingExportIntegrationTest::respond);
+        stubServer.start();
+
+        gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--shareit-server.url=http://localhost:" + stubServer.getAddress().getPort());
+        gatewayUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        gateway.close();
+        stubServer.stop(0);
+        httpClient.close();
+    }
+
+    @Test
+    void exportAllByOwner_shouldRelayRowsAsServerWritesThem() throws Exception {
+        firstLineRead = new CountDownLatch(1);
+
+        HttpResponse<InputStream> response = send(1L, "NDJSON", HttpResponse.BodyHandlers.ofInputStream());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/x-ndjson", response.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("format=NDJSON", serverQuery.get());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            assertEquals(FIRST_LINE, reader.readLine());
+            firstLineRead.countDown();
+            assertEquals(SECOND_LINE, reader.readLine());
+            assertNull(reader.readLine());
+        }
+        assertTrue(firstLineReadBeforeRest);
+    }
+
+    @Test
+    void exportAllByOwner_shouldRelayServerError() throws Exception {
+        HttpResponse<String> response = send(2L, "CSV", HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertEquals(404, response.statusCode());
+        assertEquals(NOT_FOUND_JSON, response.body());
+    }
+
+    @Test
+    void exportAllByOwner_shouldRejectInvalidUserIdWithoutCallingServer() throws Exception {
+        serverQuery.set(null);
+
+        HttpResponse<String> response = send(0L, "CSV", HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertEquals(400, response.statusCode());
+        assertNull(serverQuery.get());
+    }
+
+    private static <T> HttpResponse<T> send(long userId, String format, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gatewayUrl + "/bookings/owner/export?format=" + format))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET()
+                .build();
+        return httpClient.send(request, bodyHandler);
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        serverQuery.set(exchange.getRequestURI().getQuery());
+        if ("2".equals(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"))) {
+            byte[] body = NOT_FOUND_JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write((FIRST_LINE + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            try {
+                firstLineReadBeforeRest = firstLineRead.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.write((SECOND_LINE + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Заглушка сервера запоминает тело пакета и отвечает результатом для каждой вещи.
+ */
+class ItemBatchIntegrationTest {
+
+    private static final String RESULTS_JSON = "[{\"index\":0,\"item\":{\"id\":1,\"name\":\"Дрель\"},\"error\":null}]";
+
+    private static final AtomicInteger serverCalls = new AtomicInteger();
+    private static final AtomicReference<String> serverBody = new AtomicReference<>();
+
+    private static HttpServer stubServer;
+    private static ConfigurableApplicationContext gateway;
+    private static HttpClient httpClient;
+    private static String gatewayUrl;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 16);
+        stubServer.createContext("/items/batch", ItemBatchIntegrationTest::respond);
+        stubServer.start();
+
+        gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--shareit-server.url=http://localhost:" + stubServer.getAddress().getPort());
+        gatewayUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        gateway.close();
+        stubServer.stop(0);
+        httpClient.close();
+    }
+
+    @BeforeEach
+    void resetServer() {
+        serverCalls.set(0);
+        serverBody.set(null);
+    }
+
+    @Test
+    void createAll_shouldForwardValidBatchAndRelayResults() throws Exception {
+        HttpResponse<String> response = send("[{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true}]");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(RESULTS_JSON, response.body());
+        assertEquals(1, serverCalls.get());
+        assertTrue(serverBody.get().contains("\"name\":\"Дрель\""));
+    }
+
+    @Test
+    void createAll_shouldRejectWholeBatchWhenAnyItemIsInvalid() throws Exception {
+        HttpResponse<String> response = send("[{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true},"
+                + "{\"name\":\"\",\"description\":\"Без имени\",\"available\":true}]");
+
+        assertEquals(400, response.statusCode());
+        assertEquals(0, serverCalls.get());
+    }
+
+    @Test
+    void createAll_shouldRejectEmptyBatch() throws Exception {
+        HttpResponse<String> response = send("[]");
+
+        assertEquals(400, response.statusCode());
+        assertEquals(0, serverCalls.get());
+    }
+
+    private static HttpResponse<String> send(String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gatewayUrl + "/items/batch"))
+                .header("X-Sharer-User-Id", "1")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        serverCalls.incrementAndGet();
+        serverBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        byte[] body = RESULTS_JSON.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.share.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Шлюз с пулом на два соединения против заглушки сервера: пользователь 1 отвечает дольше таймаута чтения,
+ * пользователь 2 — медленно, но в пределах таймаута, пользователь 3 обрывает соединение без ответа.
+ */
+class ServerConnectionPoolIntegrationTest {
+
+    private static final int MAX_CONNECTIONS = 2;
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration SLOW_DELAY = Duration.ofMillis(1500);
+    private static final String USER_JSON = "{\"id\":2,\"name\":\"User\",\"email\":\"user@example.com\"}";
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+
+    private static HttpServer stubServer;
+    private static ConfigurableApplicationContext gateway;
+    private static HttpClient httpClient;
+    private static String gatewayUrl;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 16);
+        stubServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stubServer.createContext("/users/1", exchange -> {
+            sleep(READ_TIMEOUT.multipliedBy(2));
+            respond(exchange);
+        });
+        stubServer.createContext("/users/2", exchange -> {
+            inFlight.incrementAndGet();
+            sleep(SLOW_DELAY);
+            inFlight.decrementAndGet();
+            respond(exchange);
+        });
+        stubServer.createContext("/users/3", HttpExchange::close);
+        stubServer.start();
+
+        gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--shareit-server.url=http://localhost:" + stubServer.getAddress().getPort(),
+                "--shareit-server.client.max-connections=" + MAX_CONNECTIONS,
+                "--shareit-server.client.max-connections-per-route=" + MAX_CONNECTIONS,
+                "--shareit-server.client.read-timeout=" + READ_TIMEOUT.toMillis() + "ms",
+                "--shareit-server.client.pool-timeout=200ms");
+        gatewayUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        gateway.close();
+        stubServer.stop(0);
+        httpClient.close();
+    }
+
+    @Test
+    void get_shouldReturnGatewayTimeoutWhenServerRespondsSlowerThanReadTimeout() throws Exception {
+        assertEquals(504, send("/users/1").statusCode());
+    }
+
+    @Test
+    void get_shouldReturnBadGatewayWhenServerClosesConnectionWithoutResponse() throws Exception {
+        assertEquals(502, send("/users/3").statusCode());
+    }
+
+    @Test
+    void get_shouldReturnServiceUnavailableWhenPoolIsExhausted() throws Exception {
+        CompletableFuture<HttpResponse<String>> first = sendAsync("/users/2");
+        CompletableFuture<HttpResponse<String>> second = sendAsync("/users/2");
+        awaitInFlight(MAX_CONNECTIONS);
+
+        HttpResponse<String> stats = send("/actuator/serverpool");
+        HttpResponse<String> rejected = send("/users/2");
+
+        assertEquals(200, stats.statusCode());
+        assertTrue(stats.body().contains("\"leased\":" + MAX_CONNECTIONS), stats.body());
+        assertTrue(stats.body().contains("\"available\":0"), stats.body());
+        assertTrue(stats.body().contains("\"max\":" + MAX_CONNECTIONS), stats.body());
+        assertEquals(503, rejected.statusCode());
+        assertEquals(200, first.get().statusCode());
+        assertEquals(200, second.get().statusCode());
+    }
+
+    @Test
+    void serverpool_shouldReportReleasedConnectionsAfterRequests() throws Exception {
+        assertEquals(200, send("/users/2").statusCode());
+
+        String stats = send("/actuator/serverpool").body();
+
+        assertTrue(stats.contains("\"leased\":0"), stats);
+        assertTrue(stats.contains("\"pending\":0"), stats);
+        assertFalse(stats.contains("\"available\":0"), stats);
+    }
+
+    private static void awaitInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + SLOW_DELAY.toNanos();
+        while (inFlight.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, inFlight.get(), "Медленные запросы не дошли до сервера");
+    }
+
+    private static HttpResponse<String> send(String path) throws IOException, InterruptedException {
+        return httpClient.send(request(path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static CompletableFuture<HttpResponse<String>> sendAsync(String path) {
+        return httpClient.sendAsync(request(path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path)).GET().build();
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        byte[] body = USER_JSON.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.share.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Заглушка сервера выдаёт ETag по номеру версии пользователя и отвечает 304, если он совпал с If-None-Match,
+ * а также считает, сколько раз отдала тело целиком.
+ */
+class ServerResponseCacheIntegrationTest {
+
+    private static final AtomicInteger version = new AtomicInteger();
+    private static final AtomicInteger fullResponses = new AtomicInteger();
+
+    private static HttpServer stubServer;
+    private static ConfigurableApplicationContext gateway;
+    private static HttpClient httpClient;
+    private static String gatewayUrl;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 16);
+        stubServer.createContext("/users/1", ServerResponseCacheIntegrationTest::respond);
+        stubServer.start();
+
+        gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--shareit-server.url=http://localhost:" + stubServer.getAddress().getPort());
+        gatewayUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        gateway.close();
+        stubServer.stop(0);
+        httpClient.close();
+    }
+
+    @BeforeEach
+    void nextVersion() {
+        version.incrementAndGet();
+        fullResponses.set(0);
+    }
+
+    @Test
+    void get_shouldServeCachedBodyWhenServerConfirmsETag() throws Exception {
+        HttpResponse<String> first = send(null);
+        HttpResponse<String> second = send(null);
+
+        assertEquals(200, second.statusCode());
+        assertEquals(first.body(), second.body());
+        assertEquals(first.headers().firstValue("ETag"), second.headers().firstValue("ETag"));
+        assertEquals(1, fullResponses.get());
+    }
+
+    @Test
+    void get_shouldReturnNotModifiedWhenClientETagIsCurrent() throws Exception {
+        String etag = send(null).headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> response = send(etag);
+
+        assertEquals(304, response.statusCode());
+        assertEquals("", response.body());
+        assertEquals(1, fullResponses.get());
+    }
+
+    @Test
+    void get_shouldReturnNewBodyAfterServerVersionChanges() throws Exception {
+        HttpResponse<String> first = send(null);
+        version.incrementAndGet();
+
+        HttpResponse<String> second = send(first.headers().firstValue("ETag").orElseThrow());
+
+        assertEquals(200, second.statusCode());
+        assertNotEquals(first.body(), second.body());
+        assertEquals(2, fullResponses.get());
+    }
+
+    private static HttpResponse<String> send(String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(gatewayUrl + "/users/1")).GET();
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        int current = version.get();
+        String etag = "W/\"" + current + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        fullResponses.incrementAndGet();
+        byte[] body = ("{\"id\":1,\"name\":\"User " + current + "\",\"email\":\"user@example.com\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
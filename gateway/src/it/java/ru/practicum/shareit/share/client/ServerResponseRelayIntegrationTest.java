@@ -0,0 +1,99 @@
+package ru.practicum.shareit.share.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.share.constant.HttpHeadersConstants.X_NEXT_CURSOR;
+
+/**
+ * Шлюз пересылает ответ заглушки сервера байт в байт: форматирование JSON, которое потерялось бы
+ * при разборе и повторной сериализации, должно дойти до клиента без изменений.
+ */
+class ServerResponseRelayIntegrationTest {
+
+    private static final String BOOKINGS_JSON = "[ {\"id\": 1,  \"status\": \"WAITING\"} ]";
+    private static final String ERROR_JSON = "{ \"error\": \"Бронирование не найдено\" }";
+
+    private static HttpServer stubServer;
+    private static ConfigurableApplicationContext gateway;
+    private static HttpClient httpClient;
+    private static String gatewayUrl;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 16);
+        stubServer.createContext("/bookings", exchange -> {
+            exchange.getResponseHeaders().set(X_NEXT_CURSOR, "42");
+            exchange.getResponseHeaders().set("Keep-Alive", "timeout=60");
+            respond(exchange, 200, BOOKINGS_JSON);
+        });
+        stubServer.createContext("/bookings/7", exchange -> respond(exchange, 404, ERROR_JSON));
+        stubServer.start();
+
+        gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--shareit-server.url=http://localhost:" + stubServer.getAddress().getPort());
+        gatewayUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        gateway.close();
+        stubServer.stop(0);
+        httpClient.close();
+    }
+
+    @Test
+    void getAll_shouldRelayBodyAndHeadersUnchanged() throws Exception {
+        HttpResponse<String> response = send("/bookings");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(BOOKINGS_JSON, response.body());
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("42", response.headers().firstValue(X_NEXT_CURSOR).orElse(null));
+        assertTrue(response.headers().firstValue("Keep-Alive").isEmpty());
+    }
+
+    @Test
+    void getById_shouldRelayServerErrorBodyUnchanged() throws Exception {
+        HttpResponse<String> response = send("/bookings/7");
+
+        assertEquals(404, response.statusCode());
+        assertEquals(ERROR_JSON, response.body());
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(null));
+    }
+
+    private static HttpResponse<String> send(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .header("X-Sharer-User-Id", "1")
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.share.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Заглушка сервера держит ответ, пока все запросы не дошли до шлюза, и считает, сколько вызовов получила.
+ */
+class SingleFlightIntegrationTest {
+
+    private static final int CONCURRENT_REQUESTS = 30;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final String ITEM_JSON = "{\"id\":1,\"name\":\"Дрель\",\"comments\":[]}";
+
+    private static final AtomicInteger serverCalls = new AtomicInteger();
+    private static volatile CountDownLatch release;
+
+    private static HttpServer stubServer;
+    private static ConfigurableApplicationContext gateway;
+    private static MeterRegistry meterRegistry;
+    private static HttpClient httpClient;
+    private static String gatewayUrl;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS * 2);
+        stubServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stubServer.createContext("/items/1", SingleFlightIntegrationTest::respond);
+        stubServer.start();
+
+        gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--shareit-server.url=http://localhost:" + stubServer.getAddress().getPort());
+        gatewayUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+        meterRegistry = gateway.getBean(MeterRegistry.class);
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        gateway.close();
+        stubServer.stop(0);
+        httpClient.close();
+    }
+
+    @BeforeEach
+    void resetServer() {
+        serverCalls.set(0);
+        release = new CountDownLatch(1);
+    }
+
+    @Test
+    void getItem_shouldShareOneServerCallBetweenConcurrentRequestsOfSameUser() throws Exception {
+        double before = requests("coalesced");
+
+        List<HttpResponse<String>> responses = sendConcurrently(CONCURRENT_REQUESTS, i -> 1L);
+
+        assertEquals(1, serverCalls.get());
+        assertEquals(CONCURRENT_REQUESTS - 1, requests("coalesced") - before);
+        responses.forEach(response -> {
+            assertEquals(200, response.statusCode());
+            assertEquals(ITEM_JSON, response.body());
+        });
+        assertTrue(meterRegistry.get("shareit.singleflight.coalescing.ratio").gauge().value() > 0);
+    }
+
+    @Test
+    void getItem_shouldNotShareServerCallBetweenDifferentUsers() throws Exception {
+        List<HttpResponse<String>> responses = sendConcurrently(CONCURRENT_REQUESTS, i -> (long) (i % 2) + 1);
+
+        assertEquals(2, serverCalls.get());
+        responses.forEach(response -> assertEquals(200, response.statusCode()));
+    }
+
+    private List<HttpResponse<String>> sendConcurrently(int requests, IntFunction<Long> userId) throws Exception {
+        double before = requests("upstream") + requests("coalesced");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<HttpResponse<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(gatewayUrl + "/items/1"))
+                        .header("X-Sharer-User-Id", String.valueOf(userId.apply(i)))
+                        .GET()
+                        .build();
+                futures.add(executor.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+
+            // Сервер отвечает только после того, как все запросы прошли через single-flight
+            long deadline = System.nanoTime() + TIMEOUT.toNanos();
+            while (requests("upstream") + requests("coalesced") - before < requests && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            List<HttpResponse<String>> responses = new ArrayList<>();
+            for (Future<HttpResponse<String>> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        }
+    }
+
+    private static double requests(String outcome) {
+        return meterRegistry.get("shareit.singleflight.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        serverCalls.incrementAndGet();
+        try {
+            release.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = ITEM_JSON.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -4,13 +4,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.share.client.BaseClient;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,27 +20,28 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory serverRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> serverRequestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, String cursor, Integer from, Integer size) {
+        return get("?state={state}&cursor={cursor}&from={from}&size={size}", userId,
+                getListParameters(state, cursor, from, size));
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("/owner?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, String cursor, Integer from, Integer size) {
+        return get("/owner?state={state}&cursor={cursor}&from={from}&size={size}", userId,
+                getListParameters(state, cursor, from, size));
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwner(long userId, String format) {
+        return stream("/owner/export?format={format}", userId, Map.of("format", format));
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
@@ -53,4 +56,18 @@ public class BookingClient extends BaseClient {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> patchBookings(long userId, List<Long> bookingIds, boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/batch?approved={approved}", userId, parameters, bookingIds);
+    }
+
+    private Map<String, Object> getListParameters(BookingState state, String cursor, Integer from, Integer size) {
+        return Map.of(
+                "state", state.name(),
+                "cursor", cursor == null ? "" : cursor,
+                "from", from,
+                "size", size
+        );
+    }
+}
@@ -1,19 +1,29 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 
+import java.util.List;
+
+import static ru.practicum.shareit.booking.utils.BookingMessageUtils.MAX_BATCH_SIZE;
+import static ru.practicum.shareit.booking.utils.BookingMessageUtils.MAX_BATCH_SIZE_MESSAGE;
+import static ru.practicum.shareit.booking.utils.BookingMessageUtils.NOT_EMPTY_BATCH_MESSAGE;
+import static ru.practicum.shareit.booking.utils.BookingMessageUtils.NOT_NULL_BATCH_BOOKING_ID_MESSAGE;
 import static ru.practicum.shareit.booking.utils.BookingMessageUtils.NOT_NULL_BOOKING_ID_MESSAGE;
+import static ru.practicum.shareit.booking.utils.BookingMessageUtils.POSITIVE_BATCH_BOOKING_ID_MESSAGE;
 import static ru.practicum.shareit.booking.utils.BookingMessageUtils.POSITIVE_BOOKING_ID_MESSAGE;
 import static ru.practicum.shareit.share.constant.HttpHeadersConstants.X_SHARER_USER_ID;
 import static ru.practicum.shareit.user.utils.UserMessageUtils.NOT_NULL_USER_ID_MESSAGE;
@@ -49,6 +59,20 @@ public class BookingController {
         return bookingClient.patchBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> approveAll(
+            @RequestHeader(value = X_SHARER_USER_ID) @NotNull(message = NOT_NULL_USER_ID_MESSAGE)
+            @Positive(message = POSITIVE_USER_ID_MESSAGE) Long userId,
+            @RequestParam Boolean approved,
+            @RequestBody @NotEmpty(message = NOT_EMPTY_BATCH_MESSAGE)
+            @Size(max = MAX_BATCH_SIZE, message = MAX_BATCH_SIZE_MESSAGE)
+            List<@NotNull(message = NOT_NULL_BATCH_BOOKING_ID_MESSAGE)
+                 @Positive(message = POSITIVE_BATCH_BOOKING_ID_MESSAGE) Long> bookingIds
+    ) {
+        log.info("Approve {} bookings, userId={}, approved={}", bookingIds.size(), userId, approved);
+        return bookingClient.patchBookings(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getById(
             @RequestHeader(value = X_SHARER_USER_ID) @NotNull(message = NOT_NULL_USER_ID_MESSAGE)
@@ -65,21 +89,35 @@ public class BookingController {
             @RequestHeader(value = X_SHARER_USER_ID) @NotNull(message = NOT_NULL_USER_ID_MESSAGE)
             @Positive(message = POSITIVE_USER_ID_MESSAGE) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+            @RequestParam(name = "cursor", required = false) String cursor,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
             @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
     ) {
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, getBookingStatusView(stateParam), from, size);
+        log.info("Get booking with state {}, userId={}, cursor={}, from={}, size={}", stateParam, userId, cursor, from, size);
+        return bookingClient.getBookings(userId, getBookingStatusView(stateParam), cursor, from, size);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllByOwner(
             @RequestHeader(value = X_SHARER_USER_ID) @NotNull(message = NOT_NULL_USER_ID_MESSAGE)
             @Positive(message = POSITIVE_USER_ID_MESSAGE) Long userId,
-            @RequestParam(name = "state", defaultValue = "ALL") String state
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+    ) {
+        log.info("Get bookings with state={}, by owner {}, cursor={}, from={}, size={}", state, userId, cursor, from, size);
+        return bookingClient.getBookingsByOwner(userId, getBookingStatusView(state), cursor, from, size);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportAllByOwner(
+            @RequestHeader(value = X_SHARER_USER_ID) @NotNull(message = NOT_NULL_USER_ID_MESSAGE)
+            @Positive(message = POSITIVE_USER_ID_MESSAGE) Long userId,
+            @RequestParam(name = "format", defaultValue = "NDJSON") String format
     ) {
-        log.info("Get bookings with state={}, by owner {}", state, userId);
-        return bookingClient.getBookingsByOwner(userId, getBookingStatusView(state));
+        log.info("Export bookings by owner {}, format={}", userId, format);
+        return bookingClient.exportBookingsByOwner(userId, format);
     }
 
     private BookingState getBookingStatusView(String state) {
@@ -9,4 +9,14 @@ public class BookingMessageUtils {
 
     public static final String POSITIVE_BOOKING_ID_MESSAGE = "ID пользователя не может быть меньше 1";
 
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public static final String NOT_EMPTY_BATCH_MESSAGE = "Список бронирований не может быть пустым";
+
+    public static final String MAX_BATCH_SIZE_MESSAGE = "За один запрос можно рассмотреть не больше " + MAX_BATCH_SIZE + " бронирований";
+
+    public static final String NOT_NULL_BATCH_BOOKING_ID_MESSAGE = "ID бронирования не может быть null";
+
+    public static final String POSITIVE_BATCH_BOOKING_ID_MESSAGE = "ID бронирования не может быть меньше 1";
+
 }
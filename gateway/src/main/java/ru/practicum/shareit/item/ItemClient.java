@@ -4,47 +4,69 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.enums.SearchMode;
 import ru.practicum.shareit.share.client.BaseClient;
+import ru.practicum.shareit.share.client.ServerResponseCache;
+import ru.practicum.shareit.share.client.SingleFlight;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final SingleFlight singleFlight;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory serverRequestFactory, ServerResponseCache serverResponseCache,
+                      SingleFlight singleFlight) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                serverResponseCache
         );
+        this.singleFlight = singleFlight;
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", null, parameters);
+    public ResponseEntity<Object> searchItems(String text, SearchMode mode, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "mode", mode.name(),
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&mode={mode}&from={from}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> getItemsByOwner(long userId) {
-        return get("/", userId);
+        return getRevalidated("/", userId);
     }
 
-    public ResponseEntity<Object> getItem(long itemId) {
-        return get("/" + itemId);
+    /**
+     * Одновременные запросы одной вещи от одного пользователя идут на сервер одним вызовом.
+     */
+    public ResponseEntity<Object> getItem(Long userId, long itemId) {
+        return singleFlight.execute(API_PREFIX + "/" + itemId + " " + userId, () -> getRevalidated("/" + itemId, userId));
     }
 
     public ResponseEntity<Object> createItem(long userId, ItemDto requestDto) {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> createItems(long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos);
+    }
+
     public ResponseEntity<Object> patchItem(long userId, long itemId, UpdateItemDto updateItemDto) {
         return patch("/" + itemId, userId, null, updateItemDto);
     }
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -11,7 +14,13 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.enums.SearchMode;
 
+import java.util.List;
+
+import static ru.practicum.shareit.item.utils.ItemMessageUtils.MAX_BATCH_SIZE;
+import static ru.practicum.shareit.item.utils.ItemMessageUtils.MAX_BATCH_SIZE_MESSAGE;
+import static ru.practicum.shareit.item.utils.ItemMessageUtils.NOT_EMPTY_BATCH_MESSAGE;
 import static ru.practicum.shareit.item.utils.ItemMessageUtils.NOT_NULL_ITEM_ID_MESSAGE;
 import static ru.practicum.shareit.item.utils.ItemMessageUtils.POSITIVE_ITEM_ID_MESSAGE;
 import static ru.practicum.shareit.share.constant.HttpHeadersConstants.X_SHARER_USER_ID;
@@ -37,17 +46,24 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> getById(
+            @RequestHeader(value = X_SHARER_USER_ID, required = false)
+            @Positive(message = POSITIVE_USER_ID_MESSAGE) Long userId,
             @PathVariable @NotNull(message = NOT_NULL_ITEM_ID_MESSAGE)
             @Positive(message = POSITIVE_ITEM_ID_MESSAGE) Long itemId
     ) {
-        log.info("Get item {}", itemId);
-        return itemClient.getItem(itemId);
+        log.info("Get item {} by user {}", itemId, userId);
+        return itemClient.getItem(userId, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchAll(@RequestParam String text) {
-        log.info("Get items by text = {}", text);
-        return itemClient.searchItems(text);
+    public ResponseEntity<Object> searchAll(
+            @RequestParam String text,
+            @RequestParam(name = "mode", defaultValue = "SUBSTRING") String mode,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+    ) {
+        log.info("Get items by text = {}, mode={}, from={}, size={}", text, mode, from, size);
+        return itemClient.searchItems(text, getSearchMode(mode), from, size);
     }
 
     @PostMapping
@@ -60,6 +76,20 @@ public class ItemController {
         return itemClient.createItem(userId, itemDto);
     }
 
+    /**
+     * Вещи проверяются все сразу: если хотя бы одна не прошла проверку, на сервер не уходит ни одна.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createAll(
+            @RequestHeader(value = X_SHARER_USER_ID) @NotNull(message = NOT_NULL_USER_ID_MESSAGE)
+            @Positive(message = POSITIVE_USER_ID_MESSAGE) Long userId,
+            @RequestBody @NotEmpty(message = NOT_EMPTY_BATCH_MESSAGE)
+            @Size(max = MAX_BATCH_SIZE, message = MAX_BATCH_SIZE_MESSAGE) List<@Valid ItemDto> itemDtos
+    ) {
+        log.info("Create {} items by user = {}", itemDtos.size(), userId);
+        return itemClient.createItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> update(
             @RequestHeader(value = X_SHARER_USER_ID) @NotNull(message = NOT_NULL_USER_ID_MESSAGE)
@@ -84,4 +114,8 @@ public class ItemController {
         return itemClient.createComment(userId, itemId, commentDto);
     }
 
+    private SearchMode getSearchMode(String mode) {
+        return SearchMode.fromString(mode).orElse(SearchMode.SUBSTRING);
+    }
+
 }
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.enums;
+
+import ru.practicum.shareit.core.error.exception.NotValidException;
+
+import java.util.Optional;
+
+public enum SearchMode {
+    SUBSTRING,
+    FULL_TEXT,
+    FUZZY;
+
+    public static Optional<SearchMode> fromString(String value) {
+        if (value == null || value.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            SearchMode mode = SearchMode.valueOf(value.toUpperCase());
+            return Optional.of(mode);
+        } catch (IllegalArgumentException e) {
+            throw new NotValidException("Режим поиска не может быть равен " + value);
+        }
+    }
+}
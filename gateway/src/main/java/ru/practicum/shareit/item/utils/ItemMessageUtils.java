@@ -9,4 +9,10 @@ public class ItemMessageUtils {
 
     public static final String POSITIVE_ITEM_ID_MESSAGE = "ID вещи не может быть меньше 1";
 
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public static final String NOT_EMPTY_BATCH_MESSAGE = "Список вещей не может быть пустым";
+
+    public static final String MAX_BATCH_SIZE_MESSAGE = "За один запрос можно создать не больше " + MAX_BATCH_SIZE + " вещей";
+
 }
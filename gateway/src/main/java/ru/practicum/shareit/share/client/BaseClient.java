@@ -1,24 +1,49 @@
 package ru.practicum.shareit.share.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static ru.practicum.shareit.share.constant.HttpHeadersConstants.X_SHARER_USER_ID;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.UPGRADE,
+            HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION);
+
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
     protected final RestTemplate rest;
+    @Nullable
+    private final ServerResponseCache responseCache;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable ServerResponseCache responseCache) {
         this.rest = rest;
+        this.responseCache = responseCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -33,6 +58,79 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * GET с повторной проверкой ответа из кэша шлюза: сервер получает его ETag в {@code If-None-Match}
+     * и, если данные не менялись, отвечает 304 без тела, а клиенту уходит сохранённое тело.
+     * ETag передаётся клиенту, так что на его собственный {@code If-None-Match} шлюз тоже ответит 304.
+     */
+    protected ResponseEntity<Object> getRevalidated(String path, @Nullable Long userId) {
+        if (responseCache == null) {
+            return get(path, userId);
+        }
+
+        String key = userId + " " + rest.getUriTemplateHandler().expand(path);
+        ServerResponseCache.CachedResponse cached = responseCache.get(key);
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+
+        ResponseEntity<Object> response = exchange(HttpMethod.GET, path, new HttpEntity<>(headers), null);
+        if (HttpStatus.NOT_MODIFIED.equals(response.getStatusCode()) && cached != null) {
+            return ResponseEntity.ok().headers(cached.headers()).body(cached.body());
+        }
+
+        String etag = response.getHeaders().getETag();
+        if (HttpStatus.OK.equals(response.getStatusCode()) && etag != null && response.getBody() instanceof byte[] body) {
+            responseCache.put(key, new ServerResponseCache.CachedResponse(etag, response.getHeaders(), body));
+        } else if (HttpStatus.OK.equals(response.getStatusCode()) || response.getStatusCode().is4xxClientError()) {
+            responseCache.invalidate(key);
+        }
+        return response;
+    }
+
+    /**
+     * GET, тело ответа которого не собирается в памяти шлюза, а пересылается клиенту по мере получения от сервера.
+     * Статус и заголовки сервера известны до начала пересылки, поэтому ошибки сервера доходят до клиента как есть.
+     */
+    protected ResponseEntity<StreamingResponseBody> stream(String path, Long userId, Map<String, Object> parameters) {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters);
+        ClientHttpResponse shareitServerResponse;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(MediaType.ALL));
+            request.getHeaders().set(X_SHARER_USER_ID, String.valueOf(userId));
+            shareitServerResponse = request.execute();
+        } catch (IOException e) {
+            return ResponseEntity.status(toGatewayStatus(e)).build();
+        }
+
+        try {
+            return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                    .headers(relayedHeaders(shareitServerResponse.getHeaders()))
+                    .body(out -> {
+                        try (shareitServerResponse; InputStream body = shareitServerResponse.getBody()) {
+                            relay(body, out);
+                        }
+                    });
+        } catch (IOException e) {
+            shareitServerResponse.close();
+            return ResponseEntity.status(toGatewayStatus(e)).build();
+        }
+    }
+
+    /**
+     * Каждый полученный от сервера фрагмент сразу отправляется клиенту, а не копится в буфере ответа шлюза.
+     */
+    private static void relay(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            out.flush();
+        }
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -82,21 +180,42 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return exchange(method, path, new HttpEntity<>(body, defaultHeaders(userId)), parameters);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, HttpEntity<T> requestEntity, @Nullable Map<String, Object> parameters) {
+        // Тело ответа сервера пересылается как есть, без разбора JSON и повторной сериализации
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(relayedHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        } catch (ResourceAccessException e) {
+            return ResponseEntity.status(toGatewayStatus(e.getCause())).build();
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    /**
+     * Сервер не ответил вовремя — 504, в пуле не нашлось свободного соединения — 503,
+     * сервер недоступен — 502.
+     */
+    private static HttpStatus toGatewayStatus(@Nullable Throwable cause) {
+        if (cause instanceof ConnectionRequestTimeoutException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        if (cause instanceof SocketTimeoutException) {
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
+        return HttpStatus.BAD_GATEWAY;
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -107,12 +226,9 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(relayedHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -120,4 +236,16 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    /**
+     * Заголовки ответа сервера без тех, что относятся только к соединению между сервером и шлюзом.
+     */
+    private static HttpHeaders relayedHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            headers.putAll(serverHeaders);
+            HOP_BY_HOP_HEADERS.forEach(headers::remove);
+        }
+        return headers;
+    }
 }
\ No newline at end of file
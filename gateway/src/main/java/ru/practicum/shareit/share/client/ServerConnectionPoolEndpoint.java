@@ -0,0 +1,28 @@
+package ru.practicum.shareit.share.client;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Состояние пула соединений шлюза с сервером: {@code /actuator/serverpool}.
+ * Растущее {@code pending} при {@code available = 0} означает, что пул стал узким местом.
+ */
+@Component
+@Endpoint(id = "serverpool")
+@RequiredArgsConstructor
+public class ServerConnectionPoolEndpoint {
+    private final PoolingHttpClientConnectionManager serverConnectionManager;
+
+    @ReadOperation
+    public ConnectionPoolStats stats() {
+        PoolStats stats = serverConnectionManager.getTotalStats();
+        return new ConnectionPoolStats(stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+    }
+
+    public record ConnectionPoolStats(int leased, int pending, int available, int max) {
+    }
+}
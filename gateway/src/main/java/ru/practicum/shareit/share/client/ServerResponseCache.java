@@ -0,0 +1,44 @@
+package ru.practicum.shareit.share.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Ответы сервера с ETag, сохранённые шлюзом для повторной проверки через {@code If-None-Match}.
+ * Без проверки шлюз их не отдаёт: актуальность каждый раз подтверждает сервер ответом 304,
+ * поэтому при записи кэш сбрасывать не нужно. Размер ограничен суммарным объёмом тел ответов.
+ */
+@Component
+public class ServerResponseCache {
+    private final Cache<String, CachedResponse> responses;
+
+    @Autowired
+    public ServerResponseCache(@Value("${shareit-server.response-cache.max-size:64MB}") DataSize maxSize) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .build();
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        responses.put(key, response);
+    }
+
+    public void invalidate(String key) {
+        responses.invalidate(key);
+    }
+
+    public record CachedResponse(String etag, HttpHeaders headers, byte[] body) {
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.share.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Объединяет одинаковые одновременные запросы к серверу: первый выполняет вызов, остальные
+ * с тем же ключом ждут его и получают тот же результат или то же исключение.
+ * Ключ снимается сразу после завершения вызова, поэтому результат не кэшируется: запрос, пришедший
+ * позже, снова идёт на сервер. Ожидание блокирует поток, что дёшево для виртуальных потоков шлюза.
+ */
+@Component
+public class SingleFlight {
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstream;
+    private final Counter coalesced;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.upstream = Counter.builder("shareit.singleflight.requests")
+                .description("Запросы, объединённые с одинаковыми одновременными")
+                .tag("outcome", "upstream")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("shareit.singleflight.requests")
+                .description("Запросы, объединённые с одинаковыми одновременными")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("shareit.singleflight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .description("Доля запросов, получивших ответ чужого вызова сервера")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+
+        upstream.increment();
+        try {
+            T result = call.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private double coalescingRatio() {
+        double total = upstream.count() + coalesced.count();
+        return total == 0 ? 0 : coalesced.count() / total;
+    }
+
+    private static Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
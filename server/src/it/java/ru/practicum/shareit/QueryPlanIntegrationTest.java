@@ -0,0 +1,124 @@
+package ru.practicum.shareit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Следит, чтобы частые запросы репозиториев шли по индексам из миграций, а не полным просмотром таблицы.
+ * Проверяется на PostgreSQL: H2 сам индексирует внешние ключи и не показывает отсутствие индекса.
+ * В пустой базе планировщик всегда предпочёл бы Seq Scan, поэтому он запрещён настройкой
+ * {@code enable_seqscan = off} и остаётся в плане только тогда, когда подходящего индекса нет.
+ */
+class QueryPlanIntegrationTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getDatabase("postgres", "postgres",
+                Map.of("options", "-c enable_seqscan=off"));
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // BookingRepository.findAllByBooker_Id...OrderByStartDescIdDesc
+            "SELECT b.* FROM bookings b WHERE b.booker_id = 1 ORDER BY b.start_date DESC, b.id DESC LIMIT 11",
+            "SELECT b.* FROM bookings b WHERE b.booker_id = 1 AND b.status = 0 " +
+                    "ORDER BY b.start_date DESC, b.id DESC LIMIT 11",
+            // BookingRepository.findAllByOwnerId...OrderByStartDescIdDesc
+            "SELECT b.* FROM bookings b WHERE b.owner_id = 1 ORDER BY b.start_date DESC, b.id DESC LIMIT 11",
+            "SELECT b.* FROM bookings b WHERE b.owner_id = 1 AND b.status = 2 " +
+                    "ORDER BY b.start_date DESC, b.id DESC LIMIT 11",
+            // BookingRepository.existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter
+            "SELECT 1 FROM bookings b WHERE b.item_id = 1 AND b.status IN (0, 1) " +
+                    "AND b.start_date < now() AND b.end_date > now() LIMIT 1",
+            // BookingRepository.findAllByItem_IdAndBooker_IdAndEndIsBefore
+            "SELECT b.* FROM bookings b WHERE b.item_id = 1 AND b.booker_id = 1 AND b.end_date < now()",
+            // BookingRepository.findBookingSummariesByItemIds
+            "SELECT b.item_id, MAX(b.end_date), MIN(b.start_date) FROM bookings b " +
+                    "WHERE b.item_id IN (1, 2, 3) GROUP BY b.item_id",
+            // BookingRepository.findItemIdsByStatusAndStartLessThanEqual
+            "SELECT b.item_id FROM bookings b WHERE b.status = 0 AND b.start_date <= now() " +
+                    "ORDER BY b.start_date, b.id LIMIT 500",
+            // BookingRepository.findOwnerViewsByItemIdInAndStatusAndStartLessThanEqual
+            "SELECT b.id, b.item_id, b.owner_id, b.status FROM bookings b " +
+                    "WHERE b.item_id IN (1, 2, 3) AND b.status = 0 AND b.start_date <= now()",
+            // BookingRepository.markPast
+            "SELECT b.id FROM bookings b WHERE b.phase IN (0, 1) AND b.end_date <= now() " +
+                    "ORDER BY b.end_date LIMIT 500",
+            // BookingRepository.markCurrent
+            "SELECT b.id FROM bookings b WHERE b.phase = 0 AND b.start_date <= now() " +
+                    "AND b.end_date > now() ORDER BY b.start_date LIMIT 500",
+            // ItemRepository.findAllWithBookingSummaryByOwnerId
+            "SELECT i.*, s.* FROM items i LEFT JOIN item_booking_summary s ON s.item_id = i.id WHERE i.owner_id = 1",
+            // ItemBookingSummaryRepository.findAllByRefreshAtLessThanOrderByRefreshAt
+            "SELECT s.* FROM item_booking_summary s WHERE s.refresh_at < now() ORDER BY s.refresh_at LIMIT 500",
+            // ItemRepository.findAllByOwner_Id
+            "SELECT i.* FROM items i WHERE i.owner_id = 1",
+            // ItemRepository.searchIdsByFullText
+            "SELECT i.id FROM items i WHERE i.is_available = true " +
+                    "AND to_tsvector('russian', i.name || ' ' || i.description) @@ plainto_tsquery('russian', 'дрель')",
+            // ItemRepository.searchIdsByTrigrams
+            "SELECT i.id FROM items i WHERE i.is_available = true " +
+                    "AND 'perforator' <% (i.name || ' ' || i.description)",
+            // CommentRepository.findAllByItem_IdIn
+            "SELECT c.* FROM comments c WHERE c.item_id IN (1, 2, 3)",
+            // ItemRequestRepository.findAllByRequestor_IdOrderByCreatedDesc
+            "SELECT r.* FROM requests r WHERE r.requestor_id = 1 ORDER BY r.created DESC"
+    })
+    void query_shouldNotScanWholeTable(String query) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + query, String.class);
+
+        assertFalse(plan.stream().anyMatch(line -> line.contains("Seq Scan")),
+                () -> "Запрос выполняется полным просмотром таблицы:\n" + String.join("\n", plan));
+    }
+
+    /**
+     * Даты последнего и следующего бронирования вещи должны читаться из одной записи индекса,
+     * без сортировки и без обращения к строкам таблицы.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // BookingRepository.findLastBookingEndByItemId
+            "SELECT b.end_date FROM bookings b WHERE b.item_id = 1 AND b.end_date < now() " +
+                    "ORDER BY b.end_date DESC LIMIT 1",
+            // BookingRepository.findNextBookingStartByItemId
+            "SELECT b.start_date FROM bookings b WHERE b.item_id = 1 AND b.start_date > now() " +
+                    "ORDER BY b.start_date LIMIT 1"
+    })
+    void query_shouldBeAnsweredFromIndexOnly(String query) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + query, String.class);
+
+        assertTrue(plan.stream().anyMatch(line -> line.contains("Index Only Scan")),
+                () -> "Запрос читает строки таблицы:\n" + String.join("\n", plan));
+        assertFalse(plan.stream().anyMatch(line -> line.contains("Sort")),
+                () -> "Запрос сортирует строки вместо чтения индекса по порядку:\n" + String.join("\n", plan));
+    }
+}
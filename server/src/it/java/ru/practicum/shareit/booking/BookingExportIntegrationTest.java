@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Выгрузка идёт через настоящий сервер: ответ пишется асинхронно, после выхода из метода контроллера.
+ * Бронирований больше, чем строк в одной порции курсора, чтобы выгрузка пережила очистку контекста.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookingExportIntegrationTest {
+
+    private static final int BOOKINGS = 1200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Export Owner', 'export-owner@example.com')");
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Иванов, Иван', 'export-booker@example.com')");
+        ownerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'export-owner@example.com'", Long.class);
+        bookerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'export-booker@example.com'", Long.class);
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) VALUES ('Дрель', 'Простая', true, ?)", ownerId);
+        itemId = jdbcTemplate.queryForObject("SELECT id FROM items WHERE owner_id = ?", Long.class, ownerId);
+
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 12, 0);
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, owner_id, booker_id, status) VALUES (?, ?, ?, ?, ?, 1)",
+                IntStream.range(0, BOOKINGS)
+                        .mapToObj(n -> new Object[]{Timestamp.valueOf(start.plusDays(n)), Timestamp.valueOf(start.plusDays(n).plusHours(1)), itemId, ownerId, bookerId})
+                        .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE item_id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM item_booking_summary WHERE item_id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM items WHERE id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", ownerId, bookerId);
+    }
+
+    @Test
+    void export_shouldStreamAllBookingsAsNdjsonNewestFirst() throws Exception {
+        HttpResponse<String> response = export(ownerId, "ndjson");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/x-ndjson", response.headers().firstValue("Content-Type").orElseThrow());
+        List<String> lines = response.body().lines().toList();
+        assertEquals(BOOKINGS, lines.size());
+        JsonNode first = objectMapper.readTree(lines.getFirst());
+        JsonNode last = objectMapper.readTree(lines.getLast());
+        assertTrue(first.get("start").asText().compareTo(last.get("start").asText()) > 0);
+        assertEquals("Дрель", first.get("item").get("name").asText());
+        assertEquals(bookerId, first.get("booker").get("id").asLong());
+    }
+
+    @Test
+    void export_shouldStreamCsvWithHeaderAndQuotedFields() throws Exception {
+        HttpResponse<String> response = export(ownerId, "csv");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("text/csv"));
+        List<String> lines = response.body().lines().toList();
+        assertEquals(BOOKINGS + 1, lines.size());
+        assertTrue(lines.getFirst().startsWith("id,start,end,status"));
+        assertTrue(lines.get(1).endsWith(",APPROVED," + itemId + ",Дрель," + bookerId + ",\"Иванов, Иван\",export-booker@example.com"));
+    }
+
+    @Test
+    void export_shouldReturnNotFoundForUnknownOwner() throws Exception {
+        assertEquals(404, export(-1L, "ndjson").statusCode());
+    }
+
+    private HttpResponse<String> export(long userId, String format) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings/owner/export?format=" + format))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dao.BookingEventRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.enums.BookingEventType;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.core.error.exception.NotAvailableException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Планировщик в тестах отключён, поэтому пакеты разбираются вызовом диспетчера.
+ * Данные фиксируются сервисами в собственных транзакциях, как в работающем сервере.
+ */
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingEventPipelineIntegrationTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingEventDispatcher dispatcher;
+    private final BookingEventRepository eventRepository;
+    private final RecordingConsumer consumer;
+    private final JdbcTemplate jdbcTemplate;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "Owner", "events-owner-" + System.nanoTime() + "@example.com"));
+        booker = userService.create(new UserDto(null, "Booker", "events-booker-" + System.nanoTime() + "@example.com"));
+        item = itemService.create(owner.getId(), new ItemDto(null, "Дрель", "Простая дрель", true, null));
+        consumer.events.clear();
+        consumer.failing = false;
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM booking_events WHERE item_id = ?", item.getId());
+        jdbcTemplate.update("DELETE FROM bookings WHERE item_id = ?", item.getId());
+        jdbcTemplate.update("DELETE FROM item_booking_summary WHERE item_id = ?", item.getId());
+        jdbcTemplate.update("DELETE FROM items WHERE id = ?", item.getId());
+        userService.delete(owner.getId());
+        userService.delete(booker.getId());
+    }
+
+    @Test
+    void dispatch_shouldDeliverCreationAndApprovalAndRemoveThemFromOutbox() {
+        BookingDto booking = book(1);
+        bookingService.approve(owner.getId(), booking.getId(), true);
+
+        assertEquals(2, pendingEvents().size());
+
+        dispatchAll();
+
+        List<BookingEventDto> delivered = consumer.eventsOf(item.getId());
+        assertEquals(List.of(BookingEventType.CREATED, BookingEventType.APPROVED),
+                delivered.stream().map(BookingEventDto::getType).toList());
+        delivered.forEach(event -> assertEquals(booking.getId(), event.getBookingId()));
+        assertTrue(pendingEvents().isEmpty());
+    }
+
+    @Test
+    void create_shouldNotWriteEventWhenBookingIsRolledBack() {
+        book(1);
+
+        assertThrows(NotAvailableException.class, () -> book(1));
+
+        assertEquals(1, pendingEvents().size());
+    }
+
+    @Test
+    void approveAll_shouldWriteEventPerDecidedBooking() {
+        Long first = book(1).getId();
+        Long second = book(3).getId();
+        dispatchAll();
+        consumer.events.clear();
+
+        bookingService.approveAll(owner.getId(), List.of(first, second), false);
+        dispatchAll();
+
+        assertEquals(2, consumer.eventsOf(item.getId()).stream()
+                .filter(event -> event.getType() == BookingEventType.REJECTED)
+                .count());
+    }
+
+    @Test
+    void dispatch_shouldKeepEventForRetryWhenConsumerFails() {
+        book(1);
+        consumer.failing = true;
+        Instant before = Instant.now();
+
+        dispatchAll();
+
+        BookingEvent event = pendingEvents().getFirst();
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getNextAttemptAt().isAfter(before));
+        assertNotNull(event.getLastError());
+    }
+
+    private BookingDto book(int daysFromNow) {
+        LocalDateTime start = LocalDateTime.now().plusDays(daysFromNow);
+        return bookingService.create(new CreateBookingDto(item.getId(), start, start.plusDays(1)), booker.getId());
+    }
+
+    private void dispatchAll() {
+        while (dispatcher.dispatchBatch() > 0) {
+            // События других тестов тоже разбираются, пока очередь не опустеет
+        }
+    }
+
+    private List<BookingEvent> pendingEvents() {
+        return eventRepository.findAll().stream()
+                .filter(event -> event.getItemId().equals(item.getId()))
+                .toList();
+    }
+
+    static class RecordingConsumer implements BookingEventConsumer {
+        private final List<BookingEventDto> events = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public void consume(List<BookingEventDto> batch) {
+            if (failing) {
+                throw new IllegalStateException("Получатель недоступен");
+            }
+            events.addAll(batch);
+        }
+
+        List<BookingEventDto> eventsOf(Long itemId) {
+            return events.stream().filter(event -> event.getItemId().equals(itemId)).toList();
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingConsumer recordingConsumer() {
+            return new RecordingConsumer();
+        }
+    }
+}
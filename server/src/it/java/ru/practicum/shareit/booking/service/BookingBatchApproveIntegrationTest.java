@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingBatchApproveIntegrationTest {
+
+    private final EntityManager em;
+    private final BookingService bookingService;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Item otherItem;
+    private int nextDay;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("batch-owner");
+        booker = persistUser("batch-booker");
+        item = persistItem(owner);
+        otherItem = persistItem(persistUser("batch-other"));
+    }
+
+    @Test
+    void approveAll_shouldChangeOnlyPendingBookingsOfOwnerWithOneUpdate() {
+        List<Long> waitingIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            waitingIds.add(persistBooking(item, BookingStatus.WAITING).getId());
+        }
+        Long approvedId = persistBooking(item, BookingStatus.APPROVED).getId();
+        Long foreignId = persistBooking(otherItem, BookingStatus.WAITING).getId();
+        List<Long> requested = new ArrayList<>(waitingIds);
+        requested.addAll(List.of(approvedId, foreignId, -1L));
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BatchBookingResultDto> results = bookingService.approveAll(owner.getId(), requested, true);
+
+        assertEquals(23, results.size());
+        results.subList(0, 20).forEach(result -> assertEquals(BookingStatus.APPROVED, result.getStatus()));
+        assertEquals("Бронирование с id = " + approvedId + " уже рассмотрено", results.get(20).getError());
+        assertNotNull(results.get(21).getError());
+        assertEquals("Бронирование с id = -1 не найдено", results.get(22).getError());
+        // Владелец и статус читаются проекцией, а статус меняется одним UPDATE без загрузки бронирований
+        assertEquals(0, statistics.getEntityStatistics(Booking.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Booking.class.getName()).getUpdateCount());
+
+        em.flush();
+        em.clear();
+        waitingIds.forEach(id -> {
+            Booking booking = em.find(Booking.class, id);
+            assertEquals(BookingStatus.APPROVED, booking.getStatus());
+            assertEquals(1L, booking.getVersion());
+        });
+        assertEquals(BookingStatus.WAITING, em.find(Booking.class, foreignId).getStatus());
+    }
+
+    @Test
+    void approveAll_shouldRejectPendingBookings() {
+        Long bookingId = persistBooking(item, BookingStatus.WAITING).getId();
+        em.flush();
+
+        List<BatchBookingResultDto> results = bookingService.approveAll(owner.getId(), List.of(bookingId), false);
+
+        assertEquals(BookingStatus.REJECTED, results.getFirst().getStatus());
+        em.clear();
+        assertEquals(BookingStatus.REJECTED, em.find(Booking.class, bookingId).getStatus());
+    }
+
+    private User persistUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        em.persist(user);
+        return user;
+    }
+
+    private Item persistItem(User itemOwner) {
+        Item newItem = new Item();
+        newItem.setName("Дрель");
+        newItem.setDescription("Простая дрель");
+        newItem.setAvailable(true);
+        newItem.setOwner(itemOwner);
+        em.persist(newItem);
+        return newItem;
+    }
+
+    private Booking persistBooking(Item bookedItem, BookingStatus status) {
+        Instant start = Instant.now().plus(++nextDay, ChronoUnit.DAYS);
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(start.plus(1, ChronoUnit.HOURS));
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        em.persist(booking);
+        return booking;
+    }
+}
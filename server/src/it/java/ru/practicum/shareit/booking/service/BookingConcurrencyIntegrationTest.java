@@ -0,0 +1,150 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.core.error.exception.NotAvailableException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Бронирования одной вещи создаются из нескольких потоков одновременно, каждый в своей транзакции,
+ * поэтому класс намеренно не помечен {@code @Transactional} и сам убирает за собой данные.
+ */
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private Item item;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        User owner = saveUser("owner");
+        for (int i = 0; i < THREADS; i++) {
+            saveUser("booker" + i);
+        }
+
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Ударная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(findItemBookings());
+        itemRepository.delete(item);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void create_shouldAcceptOnlyOneOfConcurrentBookingsForSamePeriod() throws Exception {
+        List<Boolean> results = createConcurrently(i -> new CreateBookingDto(item.getId(), base, base.plusHours(2)));
+
+        assertEquals(1, results.stream().filter(created -> created).count());
+        assertEquals(1, findItemBookings().size());
+    }
+
+    @Test
+    void create_shouldNeverStoreOverlappingBookingsUnderContention() throws Exception {
+        // Периоды по два часа со сдвигом в полчаса: каждый пересекается с тремя соседями с каждой стороны
+        List<Boolean> results = createConcurrently(i -> new CreateBookingDto(item.getId(),
+                base.plusMinutes(30L * i), base.plusMinutes(30L * i + 120)));
+
+        List<Booking> stored = findItemBookings().stream()
+                .sorted(Comparator.comparing(Booking::getStart))
+                .toList();
+        assertEquals(results.stream().filter(created -> created).count(), stored.size());
+        assertFalse(stored.isEmpty());
+        for (int i = 1; i < stored.size(); i++) {
+            assertFalse(stored.get(i).getStart().isBefore(stored.get(i - 1).getEnd()),
+                    "Бронирования " + stored.get(i - 1).getId() + " и " + stored.get(i).getId() + " пересекаются");
+        }
+    }
+
+    /**
+     * Запускает {@link #THREADS} попыток бронирования одновременно и возвращает, какие из них прошли.
+     * Любое исключение, кроме отказа из-за пересечения, проваливает тест.
+     */
+    private List<Boolean> createConcurrently(IntFunction<CreateBookingDto> bookingFactory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                CreateBookingDto bookingDto = bookingFactory.apply(i);
+                Long bookerId = users.get(i + 1).getId();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.create(bookingDto, bookerId);
+                        return true;
+                    } catch (NotAvailableException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Booking> findItemBookings() {
+        return bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                .toList();
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        User saved = userRepository.save(user);
+        users.add(saved);
+        return saved;
+    }
+}
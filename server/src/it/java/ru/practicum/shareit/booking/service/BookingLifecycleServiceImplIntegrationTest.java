@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.BookingEventType;
+import ru.practicum.shareit.booking.enums.BookingPhase;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.BookingStatusView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Планировщик в тестах отключён, поэтому порции обрабатываются вызовами сервиса.
+ */
+@Transactional
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingLifecycleServiceImplIntegrationTest {
+
+    private final EntityManager em;
+    private final BookingLifecycleService lifecycleService;
+    private final BookingService bookingService;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = persistUser("lifecycle-owner");
+        booker = persistUser("lifecycle-booker");
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        em.persist(item);
+    }
+
+    @Test
+    void expireStale_shouldExpireOnlyStartedWaitingBookings() {
+        Long startedId = persistBooking(-1, 1, BookingStatus.WAITING).getId();
+        Long upcomingId = persistBooking(1, 2, BookingStatus.WAITING).getId();
+        Long approvedId = persistBooking(-1, 1, BookingStatus.APPROVED).getId();
+        em.flush();
+
+        while (lifecycleService.expireStale() > 0) {
+            // Начавшиеся бронирования других тестов тоже истекают, пока порции не опустеют
+        }
+        em.flush();
+        em.clear();
+
+        Booking started = em.find(Booking.class, startedId);
+        assertEquals(BookingStatus.EXPIRED, started.getStatus());
+        assertEquals(1L, started.getVersion());
+        assertEquals(BookingStatus.WAITING, em.find(Booking.class, upcomingId).getStatus());
+        assertEquals(BookingStatus.APPROVED, em.find(Booking.class, approvedId).getStatus());
+        List<BookingEventType> events = em.createQuery(
+                        "SELECT e FROM BookingEvent e WHERE e.bookingId = :bookingId", BookingEvent.class)
+                .setParameter("bookingId", startedId)
+                .getResultList().stream()
+                .map(BookingEvent::getType)
+                .toList();
+        assertEquals(List.of(BookingEventType.EXPIRED), events);
+    }
+
+    @Test
+    void markPastAndMarkCurrent_shouldMovePhasesForward() {
+        Long pastId = persistBooking(-48, -24, BookingStatus.APPROVED).getId();
+        Long currentId = persistBooking(-1, 1, BookingStatus.APPROVED).getId();
+        Long futureId = persistBooking(24, 48, BookingStatus.APPROVED).getId();
+        em.flush();
+
+        sweep();
+        em.clear();
+
+        assertEquals(BookingPhase.PAST, em.find(Booking.class, pastId).getPhase());
+        assertEquals(BookingPhase.CURRENT, em.find(Booking.class, currentId).getPhase());
+        assertEquals(BookingPhase.FUTURE, em.find(Booking.class, futureId).getPhase());
+    }
+
+    @Test
+    void getAllByBooker_shouldReturnSameStatesBeforeAndAfterSweep() {
+        Long pastId = persistBooking(-48, -24, BookingStatus.APPROVED).getId();
+        Long currentId = persistBooking(-1, 1, BookingStatus.APPROVED).getId();
+        Long futureId = persistBooking(24, 48, BookingStatus.APPROVED).getId();
+        em.flush();
+
+        // Фазы всех бронирований ещё FUTURE: выборка уточняется датами
+        assertEquals(List.of(currentId), bookingIds(BookingStatusView.CURRENT));
+        assertEquals(List.of(futureId), bookingIds(BookingStatusView.FUTURE));
+        assertEquals(List.of(pastId), bookingIds(BookingStatusView.PAST));
+
+        sweep();
+        em.clear();
+
+        assertEquals(List.of(currentId), bookingIds(BookingStatusView.CURRENT));
+        assertEquals(List.of(futureId), bookingIds(BookingStatusView.FUTURE));
+        assertEquals(List.of(pastId), bookingIds(BookingStatusView.PAST));
+    }
+
+    private void sweep() {
+        while (lifecycleService.markPast() > 0) {
+            // Закончившиеся бронирования других тестов тоже переводятся
+        }
+        while (lifecycleService.markCurrent() > 0) {
+            // Начавшиеся бронирования других тестов тоже переводятся
+        }
+    }
+
+    private List<Long> bookingIds(BookingStatusView state) {
+        return bookingService.getAllByBooker(booker.getId(), state, null, 0, 10).getContent().stream()
+                .map(BookingDto::getId)
+                .toList();
+    }
+
+    private User persistUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        em.persist(user);
+        return user;
+    }
+
+    private Booking persistBooking(int startHours, int endHours, BookingStatus status) {
+        Instant now = Instant.now();
+        Booking booking = new Booking();
+        booking.setStart(now.plus(startHours, ChronoUnit.HOURS));
+        booking.setEnd(now.plus(endHours, ChronoUnit.HOURS));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        em.persist(booking);
+        return booking;
+    }
+}
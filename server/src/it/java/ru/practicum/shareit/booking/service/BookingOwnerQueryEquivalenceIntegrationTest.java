@@ -0,0 +1,162 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.BookingStatusView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.share.dto.CursorPage;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Списки владельца читаются по копии {@code bookings.owner_id}. Результаты сравниваются с прежними запросами,
+ * которые находили владельца через соединение с {@code items}, для всех состояний и после смены владельца вещи.
+ */
+@Transactional
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingOwnerQueryEquivalenceIntegrationTest {
+
+    private static final BookingStatus[] STATUSES = {
+            BookingStatus.WAITING, BookingStatus.APPROVED, BookingStatus.REJECTED, BookingStatus.APPROVED
+    };
+
+    private final EntityManager em;
+    private final BookingService bookingService;
+
+    private User firstOwner;
+    private User secondOwner;
+    private Item transferredItem;
+
+    @BeforeEach
+    void setUp() {
+        firstOwner = persistUser("equivalence-owner-1");
+        secondOwner = persistUser("equivalence-owner-2");
+        User booker = persistUser("equivalence-booker");
+        transferredItem = persistItem(firstOwner);
+        List<Item> items = List.of(transferredItem, persistItem(firstOwner), persistItem(secondOwner));
+
+        // У каждой вещи бронирования в прошлом, текущее и в будущем с разными статусами
+        Instant now = Instant.now();
+        int n = 0;
+        for (Item item : items) {
+            for (int day = -6; day <= 6; day += 2) {
+                Instant start = now.plus(day, ChronoUnit.DAYS).minus(1, ChronoUnit.HOURS);
+                persistBooking(item, booker, start, start.plus(2, ChronoUnit.HOURS), STATUSES[n++ % STATUSES.length]);
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void getAllByOwner_shouldMatchJoinBasedQueryForEveryState() {
+        for (BookingStatusView state : BookingStatusView.values()) {
+            assertSameBookings(firstOwner.getId(), state);
+            assertSameBookings(secondOwner.getId(), state);
+        }
+    }
+
+    @Test
+    void getAllByOwner_shouldFollowItemToNewOwner() {
+        em.createQuery("UPDATE Item i SET i.owner = :owner WHERE i.id = :itemId")
+                .setParameter("owner", secondOwner)
+                .setParameter("itemId", transferredItem.getId())
+                .executeUpdate();
+        em.clear();
+
+        for (BookingStatusView state : BookingStatusView.values()) {
+            assertSameBookings(firstOwner.getId(), state);
+            assertSameBookings(secondOwner.getId(), state);
+        }
+        assertEquals(0L, em.createQuery("SELECT COUNT(b) FROM Booking b WHERE b.item.id = :itemId " +
+                        "AND b.ownerId <> :ownerId", Long.class)
+                .setParameter("itemId", transferredItem.getId())
+                .setParameter("ownerId", secondOwner.getId())
+                .getSingleResult());
+    }
+
+    private void assertSameBookings(Long ownerId, BookingStatusView state) {
+        List<Long> expected = joinBasedIds(ownerId, state);
+        List<Long> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            // Страница меньше выборки, чтобы сравнить и переходы по курсору
+            CursorPage<BookingDto> page = bookingService.getAllByOwner(ownerId, state, cursor, 0, 3);
+            page.getContent().forEach(booking -> actual.add(booking.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, actual, () -> "Состояние " + state);
+        if (state == BookingStatusView.ALL) {
+            assertFalse(actual.isEmpty());
+        }
+    }
+
+    private List<Long> joinBasedIds(Long ownerId, BookingStatusView state) {
+        String condition = switch (state) {
+            case ALL -> "";
+            case CURRENT -> " AND b.end > :now AND b.start < :now";
+            case PAST -> " AND b.end < :now";
+            case FUTURE -> " AND b.start > :now";
+            case WAITING, REJECTED -> " AND b.status = :status";
+        };
+        TypedQuery<Long> query = em.createQuery("SELECT b.id FROM Booking b JOIN b.item i " +
+                        "WHERE i.owner.id = :ownerId" + condition + " ORDER BY b.start DESC, b.id DESC", Long.class)
+                .setParameter("ownerId", ownerId);
+        switch (state) {
+            case CURRENT, PAST, FUTURE -> query.setParameter("now", Instant.now());
+            case WAITING -> query.setParameter("status", BookingStatus.WAITING);
+            case REJECTED -> query.setParameter("status", BookingStatus.REJECTED);
+            default -> {
+            }
+        }
+        return query.getResultList();
+    }
+
+    private User persistUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        em.persist(user);
+        return user;
+    }
+
+    private Item persistItem(User itemOwner) {
+        Item item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        item.setOwner(itemOwner);
+        em.persist(item);
+        return item;
+    }
+
+    private void persistBooking(Item item, User booker, Instant start, Instant end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        em.persist(booking);
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.BookingStatusView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingQueryCountIntegrationTest {
+
+    private final EntityManager em;
+    private final BookingService bookingService;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        owner = persistUser("owner");
+        booker = persistUser("booker");
+    }
+
+    @Test
+    void getAllByBooker_shouldExecuteSameNumberOfStatementsForAnyPageSize() {
+        persistBookings(1, false);
+        long singleBooking = countStatements(() -> bookingService.getAllByBooker(booker.getId(), BookingStatusView.ALL, null, 0, 20).getContent(), 1);
+
+        persistBookings(9, false);
+        long tenBookings = countStatements(() -> bookingService.getAllByBooker(booker.getId(), BookingStatusView.ALL, null, 0, 20).getContent(), 10);
+
+        assertEquals(1, singleBooking);
+        assertEquals(singleBooking, tenBookings);
+    }
+
+    @Test
+    void getAllByOwner_shouldExecuteSameNumberOfStatementsForAnyPageSize() {
+        persistBookings(1, true);
+        long singleBooking = countStatements(() -> bookingService.getAllByOwner(owner.getId(), BookingStatusView.ALL, null, 0, 20).getContent(), 1);
+
+        persistBookings(9, true);
+        long tenBookings = countStatements(() -> bookingService.getAllByOwner(owner.getId(), BookingStatusView.ALL, null, 0, 20).getContent(), 10);
+
+        // Проверка существования пользователя и сама выборка
+        assertEquals(2, singleBooking);
+        assertEquals(singleBooking, tenBookings);
+    }
+
+    private long countStatements(Supplier<List<BookingDto>> query, int expectedSize) {
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        List<BookingDto> result = query.get();
+
+        assertEquals(expectedSize, result.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Каждое бронирование получает свою вещь, а при {@code distinctBookers} и своего автора,
+     * чтобы ленивая загрузка связей была видна в счётчике запросов.
+     */
+    private void persistBookings(int count, boolean distinctBookers) {
+        Instant now = Instant.now();
+        for (int i = 0; i < count; i++) {
+            Item item = new Item();
+            item.setName("Item");
+            item.setDescription("Description");
+            item.setAvailable(true);
+            item.setOwner(em.getReference(User.class, owner.getId()));
+            em.persist(item);
+
+            Booking booking = new Booking();
+            booking.setStart(now.plus(i + 1, ChronoUnit.HOURS));
+            booking.setEnd(now.plus(i + 2, ChronoUnit.HOURS));
+            booking.setItem(item);
+            booking.setBooker(distinctBookers ? persistUser("booker" + i) : em.getReference(User.class, booker.getId()));
+            booking.setStatus(BookingStatus.WAITING);
+            em.persist(booking);
+        }
+    }
+
+    private User persistUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        em.persist(user);
+        return user;
+    }
+}
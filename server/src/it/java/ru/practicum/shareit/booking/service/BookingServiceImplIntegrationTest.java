@@ -13,11 +13,13 @@ import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.enums.BookingStatusView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.share.dto.CursorPage;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -101,7 +103,7 @@ class BookingServiceImplIntegrationTest {
 
     @Test
     void getAllByBooker_shouldReturnCurrentBookings() {
-        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.CURRENT);
+        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.CURRENT, null, 0, 10).getContent();
         assertEquals(1, result.size());
         assertTrue(result.getFirst().getStart().isBefore(LocalDateTime.now()));
         assertTrue(result.getFirst().getEnd().isAfter(LocalDateTime.now()));
@@ -109,36 +111,61 @@ class BookingServiceImplIntegrationTest {
 
     @Test
     void getAllByBooker_shouldReturnPastBookings() {
-        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.PAST);
+        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.PAST, null, 0, 10).getContent();
         assertEquals(1, result.size());
         assertTrue(result.getFirst().getEnd().isBefore(LocalDateTime.now()));
     }
 
     @Test
     void getAllByBooker_shouldReturnFutureBookings() {
-        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.FUTURE);
+        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.FUTURE, null, 0, 10).getContent();
         assertEquals(3, result.size());
         assertTrue(result.getFirst().getStart().isAfter(LocalDateTime.now()));
     }
 
     @Test
     void getAllByBooker_shouldReturnWaitingBookings() {
-        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.WAITING);
+        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.WAITING, null, 0, 10).getContent();
         assertEquals(1, result.size());
         assertEquals(BookingStatus.WAITING, result.getFirst().getStatus());
     }
 
     @Test
     void getAllByBooker_shouldReturnRejectedBookings() {
-        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.REJECTED);
+        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.REJECTED, null, 0, 10).getContent();
         assertEquals(1, result.size());
         assertEquals(BookingStatus.REJECTED, result.getFirst().getStatus());
     }
 
     @Test
     void getAllByBooker_shouldReturnAllBookings() {
-        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.ALL);
+        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.ALL, null, 0, 10).getContent();
         assertEquals(5, result.size());
     }
 
-}
\ No newline at end of file
+    @Test
+    void getAllByBooker_shouldWalkAllPagesWithCursor() {
+        List<Long> expected = bookingService.getAllByBooker(bookerId, BookingStatusView.ALL, null, 0, 10).getContent()
+                .stream().map(BookingDto::getId).toList();
+
+        List<Long> walked = new ArrayList<>();
+        CursorPage<BookingDto> page = bookingService.getAllByBooker(bookerId, BookingStatusView.ALL, null, 0, 2);
+        walked.addAll(page.getContent().stream().map(BookingDto::getId).toList());
+        while (page.getNextCursor() != null) {
+            page = bookingService.getAllByBooker(bookerId, BookingStatusView.ALL, page.getNextCursor(), 0, 2);
+            walked.addAll(page.getContent().stream().map(BookingDto::getId).toList());
+        }
+
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void getAllByBooker_shouldSkipFromElementsWithoutCursor() {
+        List<BookingDto> all = bookingService.getAllByBooker(bookerId, BookingStatusView.ALL, null, 0, 10).getContent();
+
+        List<BookingDto> result = bookingService.getAllByBooker(bookerId, BookingStatusView.ALL, null, 2, 2).getContent();
+
+        assertEquals(all.subList(2, 4), result);
+    }
+
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.core.error;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Нарушения ограничений воспроизводятся на PostgreSQL: исключающее ограничение на пересечение
+ * бронирований есть только там.
+ */
+@Transactional
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class GlobalExceptionHandlerIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private final EntityManager em;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Instant start;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("handler-owner");
+        booker = persistUser("handler-booker");
+
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Ударная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        em.persist(item);
+
+        start = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.saveAndFlush(newBooking(start));
+    }
+
+    @Test
+    void handleDataIntegrityViolation_shouldReturnConflictForOverlappingBookings() {
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
+                () -> bookingRepository.saveAndFlush(newBooking(start.plus(1, ChronoUnit.HOURS))));
+
+        assertEquals(HttpStatus.CONFLICT, handler.handleDataIntegrityViolation(ex).getStatusCode());
+    }
+
+    @Test
+    void handleDataIntegrityViolation_shouldReturnServerErrorForOtherConstraints() {
+        User duplicate = new User();
+        duplicate.setName("duplicate");
+        duplicate.setEmail(owner.getEmail());
+
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(duplicate));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, handler.handleDataIntegrityViolation(ex).getStatusCode());
+    }
+
+    private Booking newBooking(Instant bookingStart) {
+        Booking booking = new Booking();
+        booking.setStart(bookingStart);
+        booking.setEnd(bookingStart.plus(2, ChronoUnit.HOURS));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private User persistUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        em.persist(user);
+        return user;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
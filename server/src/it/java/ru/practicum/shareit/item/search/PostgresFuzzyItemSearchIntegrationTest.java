@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item.search;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нечёткий поиск через {@code pg_trgm} на PostgreSQL. Вещи создаются в транзакции теста и сразу видны
+ * поиску: индекс триграмм обновляет сама база.
+ */
+@Transactional
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class PostgresFuzzyItemSearchIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    private final EntityManager em;
+    private final FuzzyItemSearch search;
+
+    private Item drill;
+    private Item drillBits;
+    private Item perforator;
+    private Item screwdriver;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("shareit.search.fuzzy.engine", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setName("fuzzy-owner");
+        owner.setEmail("fuzzy-owner@example.com");
+        em.persist(owner);
+
+        drill = persistItem(owner, "Drill", "Simple drill", true);
+        drillBits = persistItem(owner, "Drills", "Set of bits", true);
+        perforator = persistItem(owner, "Perforator", "Impact perforator for concrete", true);
+        screwdriver = persistItem(owner, "Screwdriver", "Accumulator screwdriver", true);
+        persistItem(owner, "Drill", "Broken drill", false);
+        em.flush();
+    }
+
+    @Test
+    void search_shouldUsePgTrgm() {
+        assertInstanceOf(PostgresFuzzyItemSearch.class, search);
+    }
+
+    @Test
+    void search_shouldFindWordsWithTyposInAvailableItems() {
+        assertEquals(List.of(perforator.getId()), search.search("perfarator", 0, 10));
+        assertEquals(List.of(screwdriver.getId()), search.search("acumulator", 0, 10));
+    }
+
+    @Test
+    void search_shouldNotFindWordWithTooManyTypos() {
+        assertTrue(search.search("drvlt", 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldRequireEveryWordOfQuery() {
+        assertEquals(List.of(perforator.getId()), search.search("impact perforatr", 0, 10));
+        assertTrue(search.search("impact drill", 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldRankCloserMatchesFirstAndApplyOffset() {
+        assertEquals(List.of(drill.getId(), drillBits.getId()), search.search("drill", 0, 10));
+        assertEquals(List.of(drillBits.getId()), search.search("drill", 1, 1));
+    }
+
+    private Item persistItem(User owner, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        em.persist(item);
+        return item;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.item.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dao.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.share.util.DateTimeUtils;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Планировщик сводок запускается, пока бронирование вещи ещё не зафиксировано. Транзакции должны
+ * идти параллельно, поэтому класс не помечен {@code @Transactional} и сам убирает за собой данные.
+ * Проверяется на PostgreSQL: на H2 эта гонка не воспроизводится и тест проходил бы и без блокировки.
+ */
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ItemBookingSummaryConcurrencyIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    private final ItemBookingSummaryService summaryService;
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("summary-owner");
+        booker = saveUser("summary-booker");
+
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Ударная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        // Сводка устарела и ждёт планировщика
+        ItemBookingSummary stale = new ItemBookingSummary();
+        stale.setItemId(item.getId());
+        stale.setRefreshAt(DateTimeUtils.toUTC(LocalDateTime.now()).minus(1, ChronoUnit.HOURS));
+        summaryRepository.save(stale);
+    }
+
+    @AfterEach
+    void tearDown() {
+        summaryRepository.deleteById(item.getId());
+        bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                .toList());
+        itemRepository.delete(item);
+        userRepository.deleteAll(List.of(owner, booker));
+    }
+
+    @Test
+    void refreshStale_shouldNotOverwriteSummaryOfUncommittedBooking() throws Exception {
+        Instant start = DateTimeUtils.toUTC(LocalDateTime.now()).plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Те же шаги, что у BookingServiceImpl.create: строка вещи блокируется, сводка пересчитывается,
+            // но транзакция фиксируется только после запуска планировщика
+            Future<?> create = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                itemRepository.findWithLockById(item.getId());
+                bookingRepository.saveAndFlush(newBooking(start));
+                summaryService.refresh(List.of(item.getId()));
+                // Сводка записывается сразу, как при фиксации; пересчёт планировщика должен оказаться после неё
+                summaryRepository.flush();
+                locked.countDown();
+                await(release);
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            Future<Integer> sweep = executor.submit(summaryService::refreshStale);
+            try {
+                // Без блокировки вещи пересчёт дождался бы строки сводки и затёр бы её после фиксации
+                sweep.get(1, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                // Пересчёт ждёт фиксации бронирования — проверяется результат ниже
+            }
+            release.countDown();
+            create.get(10, TimeUnit.SECONDS);
+            sweep.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(start, summary.getNextBookingStart());
+        assertEquals(start, summary.getRefreshAt());
+    }
+
+    private Booking newBooking(Instant start) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(start.plus(2, ChronoUnit.HOURS));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        return userRepository.save(user);
+    }
+}
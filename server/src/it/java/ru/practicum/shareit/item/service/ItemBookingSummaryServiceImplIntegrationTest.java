@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dao.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.dto.FullItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.share.util.DateTimeUtils;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ItemBookingSummaryServiceImplIntegrationTest {
+
+    private final EntityManager em;
+    private final ItemBookingSummaryService summaryService;
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final ItemService itemService;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("owner");
+        booker = persistUser("booker");
+
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Ударная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        em.persist(item);
+
+        now = DateTimeUtils.toUTC(LocalDateTime.now()).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @Test
+    void compute_shouldReturnLastNextAndActiveBooking() {
+        persistBooking(now.minus(5, ChronoUnit.HOURS), now.minus(4, ChronoUnit.HOURS), BookingStatus.APPROVED);
+        Booking current = persistBooking(now.minus(1, ChronoUnit.HOURS), now.plus(1, ChronoUnit.HOURS), BookingStatus.APPROVED);
+        persistBooking(now.plus(2, ChronoUnit.HOURS), now.plus(3, ChronoUnit.HOURS), BookingStatus.WAITING);
+        em.flush();
+
+        ItemBookingSummary summary = summaryService.compute(List.of(item.getId()), now).get(item.getId());
+
+        assertEquals(now.minus(4, ChronoUnit.HOURS), summary.getLastBookingEnd());
+        assertEquals(now.plus(2, ChronoUnit.HOURS), summary.getNextBookingStart());
+        assertEquals(current.getId(), summary.getActiveBookingId());
+        assertEquals(now.plus(1, ChronoUnit.HOURS), summary.getRefreshAt());
+    }
+
+    @Test
+    void compute_shouldReturnEmptySummaryForItemWithoutBookings() {
+        ItemBookingSummary summary = summaryService.compute(List.of(item.getId()), now).get(item.getId());
+
+        assertEquals(item.getId(), summary.getItemId());
+        assertNull(summary.getLastBookingEnd());
+        assertNull(summary.getNextBookingStart());
+        assertNull(summary.getActiveBookingId());
+        assertNull(summary.getRefreshAt());
+    }
+
+    @Test
+    void compute_shouldRollForwardWhenNextBookingStartsAndEnds() {
+        persistBooking(now.plus(1, ChronoUnit.HOURS), now.plus(2, ChronoUnit.HOURS), BookingStatus.APPROVED);
+        em.flush();
+
+        ItemBookingSummary before = summaryService.compute(List.of(item.getId()), now).get(item.getId());
+        Instant during = before.getRefreshAt().plusSeconds(1);
+        ItemBookingSummary active = summaryService.compute(List.of(item.getId()), during).get(item.getId());
+        Instant after = active.getRefreshAt().plusSeconds(1);
+        ItemBookingSummary finished = summaryService.compute(List.of(item.getId()), after).get(item.getId());
+
+        assertEquals(now.plus(1, ChronoUnit.HOURS), before.getNextBookingStart());
+        assertNull(active.getNextBookingStart());
+        assertNotNull(active.getActiveBookingId());
+        assertEquals(now.plus(2, ChronoUnit.HOURS), active.getRefreshAt());
+        assertEquals(now.plus(2, ChronoUnit.HOURS), finished.getLastBookingEnd());
+        assertNull(finished.getActiveBookingId());
+        assertNull(finished.getRefreshAt());
+    }
+
+    @Test
+    void refreshStale_shouldRecomputeOnlyExpiredSummaries() {
+        persistBooking(now.minus(2, ChronoUnit.HOURS), now.minus(1, ChronoUnit.HOURS), BookingStatus.APPROVED);
+        ItemBookingSummary expired = new ItemBookingSummary();
+        expired.setItemId(item.getId());
+        expired.setNextBookingStart(now.minus(2, ChronoUnit.HOURS));
+        expired.setRefreshAt(now.minus(2, ChronoUnit.HOURS));
+        em.merge(expired);
+        em.flush();
+
+        assertEquals(1, summaryService.refreshStale());
+        assertEquals(0, summaryService.refreshStale());
+
+        ItemBookingSummary refreshed = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(now.minus(1, ChronoUnit.HOURS), refreshed.getLastBookingEnd());
+        assertNull(refreshed.getNextBookingStart());
+        assertNull(refreshed.getRefreshAt());
+    }
+
+    @Test
+    void getAllByOwner_shouldReadDatesFromSummary() {
+        persistBooking(now.minus(2, ChronoUnit.HOURS), now.minus(1, ChronoUnit.HOURS), BookingStatus.APPROVED);
+        persistBooking(now.plus(1, ChronoUnit.HOURS), now.plus(2, ChronoUnit.HOURS), BookingStatus.WAITING);
+        em.flush();
+        summaryService.refresh(List.of(item.getId()));
+        em.flush();
+        em.clear();
+
+        List<FullItemDto> items = itemService.getAllByOwner(owner.getId());
+
+        assertEquals(1, items.size());
+        assertEquals(DateTimeUtils.toLocalDateTime(now.minus(1, ChronoUnit.HOURS)), items.getFirst().getLastBooking());
+        assertEquals(DateTimeUtils.toLocalDateTime(now.plus(1, ChronoUnit.HOURS)), items.getFirst().getNextBooking());
+    }
+
+    private Booking persistBooking(Instant start, Instant end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        em.persist(booking);
+        return booking;
+    }
+
+    private User persistUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        em.persist(user);
+        return user;
+    }
+}
@@ -2,18 +2,34 @@ package ru.practicum.shareit.item.service;
 
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.core.error.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.BatchItemResultDto;
+import ru.practicum.shareit.item.dto.FullItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.enums.SearchMode;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.FullTextItemSearch;
+import ru.practicum.shareit.item.search.FuzzyItemSearch;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.share.util.DateTimeUtils;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @Transactional
@@ -24,6 +40,8 @@ class ItemServiceImplIntegrationTest {
 
     private final EntityManager em;
     private final ItemService itemService;
+    private final FullTextItemSearch fullTextItemSearch;
+    private final FuzzyItemSearch fuzzyItemSearch;
 
     private Long ownerId;
     private Long requestId;
@@ -59,6 +77,30 @@ class ItemServiceImplIntegrationTest {
         assertNull(createdItem.getRequestId());
     }
 
+    @Test
+    void createAll_shouldInsertItemsInBatchesWithSequenceIds() {
+        List<ItemDto> itemDtos = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            itemDtos.add(new ItemDto(null, "Дрель " + i, "Простая дрель", true, i == 0 ? requestId : null));
+        }
+        itemDtos.add(new ItemDto(null, "Перфоратор", "Без запроса", true, requestId + 1000));
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        em.clear();
+        statistics.clear();
+
+        List<BatchItemResultDto> results = itemService.createAll(ownerId, itemDtos);
+        em.flush();
+
+        assertEquals(61, results.size());
+        assertEquals(requestId, results.get(0).getItem().getRequestId());
+        assertEquals("Запрос с id = " + (requestId + 1000) + " для вещи не найден", results.get(60).getError());
+        List<Long> ids = results.subList(0, 60).stream().map(result -> result.getItem().getId()).toList();
+        assertEquals(60, ids.stream().distinct().count());
+        assertEquals(120, statistics.getEntityInsertCount()); // вещи и их сводки бронирований
+        // Владелец, запросы, два блока идентификаторов и по две пачки вставок вещей и сводок
+        assertTrue(statistics.getPrepareStatementCount() <= 8, "statements: " + statistics.getPrepareStatementCount());
+    }
+
     @Test
     void create_shouldCreateItemWithItemRequest() {
         ItemDto itemDto = new ItemDto(null, "Дрель", "Простая дрель", true, requestId);
@@ -107,4 +149,62 @@ class ItemServiceImplIntegrationTest {
         assertEquals(ownerId, persistedItem.getOwner().getId());
         assertNull(persistedItem.getRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getById_shouldReturnLastAndNextBookingOnlyToOwner() {
+        ItemDto createdItem = itemService.create(ownerId, new ItemDto(null, "Дрель", "Простая дрель", true, null));
+        Item item = em.find(Item.class, createdItem.getId());
+        User booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("booker@example.com");
+        em.persist(booker);
+
+        Instant now = DateTimeUtils.toUTC(LocalDateTime.now()).truncatedTo(ChronoUnit.SECONDS);
+        persistBooking(item, booker, now.minus(5, ChronoUnit.DAYS), now.minus(4, ChronoUnit.DAYS));
+        persistBooking(item, booker, now.minus(3, ChronoUnit.DAYS), now.minus(2, ChronoUnit.DAYS));
+        persistBooking(item, booker, now.plus(2, ChronoUnit.DAYS), now.plus(3, ChronoUnit.DAYS));
+        persistBooking(item, booker, now.plus(4, ChronoUnit.DAYS), now.plus(5, ChronoUnit.DAYS));
+        em.flush();
+
+        FullItemDto forOwner = itemService.getById(ownerId, item.getId());
+        FullItemDto forBooker = itemService.getById(booker.getId(), item.getId());
+
+        assertEquals(DateTimeUtils.toLocalDateTime(now.minus(2, ChronoUnit.DAYS)), forOwner.getLastBooking());
+        assertEquals(DateTimeUtils.toLocalDateTime(now.plus(2, ChronoUnit.DAYS)), forOwner.getNextBooking());
+        assertNull(forBooker.getLastBooking());
+        assertNull(forBooker.getNextBooking());
+    }
+
+    @Test
+    void searchAll_shouldTreatFromAsRowOffsetInEveryMode() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(itemService.create(ownerId, new ItemDto(null, "Виброплита " + i, "Виброплита", true, null)).getId());
+        }
+        em.flush();
+
+        // Индексы в памяти обновляются после фиксации, а транзакция теста откатывается
+        ids.forEach(id -> {
+            Item item = em.find(Item.class, id);
+            fullTextItemSearch.index(item);
+            fuzzyItemSearch.index(item);
+        });
+
+        for (SearchMode mode : SearchMode.values()) {
+            List<Long> page = itemService.searchAll("виброплита", mode, 3, 2).stream().map(ItemDto::getId).toList();
+            assertEquals(2, page.size(), mode.name());
+            assertEquals(itemService.searchAll("виброплита", mode, 0, 5).stream().skip(3).map(ItemDto::getId).toList(),
+                    page, mode.name());
+        }
+    }
+
+    private void persistBooking(Item item, User booker, Instant start, Instant end) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.APPROVED);
+        em.persist(booking);
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.share.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UpdateUserDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Каждое обращение к сервису идёт в своей транзакции и своём контексте персистентности,
+ * поэтому повторное чтение без запроса к базе возможно только из кэша второго уровня.
+ */
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class SecondLevelCacheIntegrationTest {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+
+    private Statistics statistics;
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userService.create(new UserDto(null, "Cached", "cached-" + System.nanoTime() + "@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll(itemRepository.findAllByOwner_Id(user.getId()));
+        userService.delete(user.getId());
+    }
+
+    @Test
+    void getById_shouldReadUserFromCacheWithoutStatements() {
+        userService.getById(user.getId());
+        statistics.clear();
+
+        UserDto cached = userService.getById(user.getId());
+
+        assertEquals(user.getName(), cached.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void update_shouldEvictUserSoNextReadSeesNewValues() {
+        userService.getById(user.getId());
+
+        UpdateUserDto update = new UpdateUserDto();
+        update.setName("Renamed");
+        userService.update(user.getId(), update);
+
+        assertFalse(entityManagerFactory.getCache().contains(User.class, user.getId()));
+        assertEquals("Renamed", userService.getById(user.getId()).getName());
+    }
+
+    @Test
+    void update_shouldEvictItemSoNextReadSeesNewValues() {
+        ItemDto item = itemService.create(user.getId(), new ItemDto(null, "Дрель", "Простая дрель", true, null));
+        itemService.getById(null, item.getId());
+
+        itemService.update(user.getId(), item.getId(), new UpdateItemDto(item.getId(), "Перфоратор", null, null, null));
+
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+        assertEquals("Перфоратор", itemService.getById(null, item.getId()).getName());
+    }
+
+    @Test
+    void cacheRequests_shouldBePublishedAsMetrics() {
+        userService.getById(user.getId());
+        userService.getById(user.getId());
+
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "users", "result", "hit")
+                .functionCounter()
+                .count() > 0);
+        assertNotNull(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "users", "result", "miss")
+                .functionCounter());
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.share.etag;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dao.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.share.util.DateTimeUtils;
+import ru.practicum.shareit.user.dto.UpdateUserDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Каждое обращение к сервису идёт в своей транзакции, поэтому версии увеличиваются
+ * сразу после выхода из метода записи.
+ */
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class VersionTagsIntegrationTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemBookingSummaryRepository summaryRepository;
+
+    private UserDto owner;
+    private UserDto other;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "Owner", "etag-owner-" + System.nanoTime() + "@example.com"));
+        other = userService.create(new UserDto(null, "Other", "etag-other-" + System.nanoTime() + "@example.com"));
+        item = itemService.create(owner.getId(), new ItemDto(null, "Дрель", "Простая дрель", true, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<Item> items = itemRepository.findAllByOwner_Id(owner.getId());
+        summaryRepository.deleteAllById(items.stream().map(Item::getId).toList());
+        itemRepository.deleteAll(items);
+        itemRequestRepository.deleteAll(itemRequestRepository.findAllByRequestor_IdOrderByCreatedDesc(other.getId()));
+        userService.delete(owner.getId());
+        userService.delete(other.getId());
+    }
+
+    @Test
+    void update_shouldChangeItemAndOwnerItemsTags() {
+        String ownerItemsTag = itemService.getAllByOwnerTag(owner.getId());
+        String ownerItemTag = itemService.getByIdTag(owner.getId(), item.getId());
+        String itemTag = itemService.getByIdTag(other.getId(), item.getId());
+
+        itemService.update(owner.getId(), item.getId(), new UpdateItemDto(item.getId(), "Перфоратор", null, null, null));
+
+        assertNotEquals(ownerItemsTag, itemService.getAllByOwnerTag(owner.getId()));
+        assertNotEquals(ownerItemTag, itemService.getByIdTag(owner.getId(), item.getId()));
+        assertNotEquals(itemTag, itemService.getByIdTag(other.getId(), item.getId()));
+    }
+
+    @Test
+    void getByIdTag_shouldDifferBetweenOwnerAndOtherUsers() {
+        assertNotEquals(itemService.getByIdTag(owner.getId(), item.getId()), itemService.getByIdTag(other.getId(), item.getId()));
+        assertEquals(itemService.getByIdTag(null, item.getId()), itemService.getByIdTag(other.getId(), item.getId()));
+    }
+
+    @Test
+    void getTags_shouldBeNullForOwnerWhileBookingSummaryIsStale() {
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        summary.setRefreshAt(DateTimeUtils.toUTC(LocalDateTime.now().minusMinutes(1)));
+        summaryRepository.save(summary);
+
+        assertNull(itemService.getAllByOwnerTag(owner.getId()));
+        assertNull(itemService.getByIdTag(owner.getId(), item.getId()));
+        assertNotNull(itemService.getByIdTag(other.getId(), item.getId()));
+    }
+
+    @Test
+    void userUpdate_shouldChangeUserAndItemTags() {
+        String userTag = userService.getByIdTag(other.getId());
+        String itemTag = itemService.getByIdTag(other.getId(), item.getId());
+
+        UpdateUserDto update = new UpdateUserDto();
+        update.setName("Renamed");
+        userService.update(other.getId(), update);
+
+        assertNotEquals(userTag, userService.getByIdTag(other.getId()));
+        assertNotEquals(itemTag, itemService.getByIdTag(other.getId(), item.getId()));
+    }
+
+    @Test
+    void requestCreate_shouldChangeAllRequestsTag() {
+        String tag = itemRequestService.getAllTag();
+
+        itemRequestService.create(new CreateItemRequestDto("Нужна дрель"), other.getId());
+
+        assertNotEquals(tag, itemRequestService.getAllTag());
+    }
+}
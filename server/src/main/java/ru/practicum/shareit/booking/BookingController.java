@@ -3,14 +3,20 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.enums.BookingStatusView;
+import ru.practicum.shareit.booking.enums.ExportFormat;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.share.dto.CursorPage;
 
 import java.util.List;
 
+import static ru.practicum.shareit.share.constant.HttpHeadersConstants.X_NEXT_CURSOR;
 import static ru.practicum.shareit.share.constant.HttpHeadersConstants.X_SHARER_USER_ID;
 
 @RestController
@@ -38,6 +44,16 @@ public class BookingController {
         return bookingService.approve(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BatchBookingResultDto> approveAll(
+            @RequestHeader(value = X_SHARER_USER_ID) Long userId,
+            @RequestParam Boolean approved,
+            @RequestBody List<Long> bookingIds
+    ) {
+        return bookingService.approveAll(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
     public BookingDto getById(
@@ -48,21 +64,40 @@ public class BookingController {
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<BookingDto> getAllByBooker(
+    public ResponseEntity<List<BookingDto>> getAllByBooker(
             @RequestHeader(value = X_SHARER_USER_ID) Long userId,
-            @RequestParam(name = "state", defaultValue = "ALL") String state
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @RequestParam(name = "size", defaultValue = "10") Integer size
     ) {
-        return bookingService.getAllByBooker(userId, getBookingStatusView(state));
+        return toResponseEntity(bookingService.getAllByBooker(userId, getBookingStatusView(state), cursor, from, size));
     }
 
     @GetMapping("/owner")
-    @ResponseStatus(HttpStatus.OK)
-    public List<BookingDto> getAllByOwner(
+    public ResponseEntity<List<BookingDto>> getAllByOwner(
             @RequestHeader(value = X_SHARER_USER_ID) Long userId,
-            @RequestParam(name = "state", defaultValue = "ALL") String state
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @RequestParam(name = "size", defaultValue = "10") Integer size
     ) {
-        return bookingService.getAllByOwner(userId, getBookingStatusView(state));
+        return toResponseEntity(bookingService.getAllByOwner(userId, getBookingStatusView(state), cursor, from, size));
+    }
+
+    /**
+     * Строки пишутся в ответ по мере чтения из базы, поэтому память не зависит от размера истории.
+     */
+    @GetMapping(value = "/owner/export",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportAllByOwner(
+            @RequestHeader(value = X_SHARER_USER_ID) Long userId,
+            @RequestParam(name = "format", defaultValue = "NDJSON") String format
+    ) {
+        ExportFormat exportFormat = getExportFormat(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .body(out -> bookingService.exportAllByOwner(userId, exportFormat, out));
     }
 
     private BookingStatusView getBookingStatusView(String state) {
@@ -70,4 +105,17 @@ public class BookingController {
         return stateView == null ? BookingStatusView.ALL : stateView;
     }
 
+    private ExportFormat getExportFormat(String format) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        return exportFormat == null ? ExportFormat.NDJSON : exportFormat;
+    }
+
+    private ResponseEntity<List<BookingDto>> toResponseEntity(CursorPage<BookingDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(X_NEXT_CURSOR, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
 }
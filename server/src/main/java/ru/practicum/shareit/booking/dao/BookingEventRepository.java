@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dao;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    /**
+     * События, которые пора доставить. Строки, уже захваченные другим экземпляром сервера, пропускаются
+     * ({@code SKIP LOCKED}), поэтому несколько диспетчеров разбирают очередь, не ожидая друг друга.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<BookingEvent> findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(Instant now, Limit limit);
+
+}
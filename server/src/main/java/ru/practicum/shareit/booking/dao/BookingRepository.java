@@ -1,44 +1,203 @@
 package ru.practicum.shareit.booking.dao;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.enums.BookingPhase;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.view.BookingDatesView;
+import ru.practicum.shareit.booking.view.BookingOwnerView;
+import ru.practicum.shareit.booking.view.BookingSummaryView;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Списочные запросы подгружают вещь и автора бронирования тем же запросом:
+ * {@link ru.practicum.shareit.booking.mapper.BookingMapper} обращается к обоим, и ленивая загрузка
+ * давала бы по два дополнительных запроса на каждое бронирование страницы.
+ * <p>
+ * Состояния CURRENT и FUTURE сначала сужаются по сохранённой фазе {@link BookingPhase}: частичные индексы
+ * по незавершённым бронированиям не содержат прошедших, которых у пользователя больше всего.
+ * Фаза может отставать, поэтому точную границу по-прежнему задаёт сравнение дат.
+ * Для состояний WAITING и REJECTED есть свои частичные индексы по статусу. Чтобы PostgreSQL выбирал их
+ * при параметре вместо константы, сервер подключается с {@code plan_cache_mode = force_custom_plan}.
+ * <p>
+ * Списки владельца отбираются по копии {@code owner_id} в самой таблице бронирований: страница читается
+ * по индексу владельца, а вещи присоединяются только к её строкам.
+ */
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBooker_IdOrderByStartDesc(Long bookerId);
+    int EXPORT_FETCH_SIZE = 500;
 
-    List<Booking> findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(Long bookerId, Instant date);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByBooker_IdOrderByStartDescIdDesc(
+            Long bookerId, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByBooker_IdAndStartIsAfterOrderByStartDesc(Long bookerId, Instant date);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByBooker_IdAndEndIsBeforeOrderByStartDescIdDesc(
+            Long bookerId, Instant date, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByBooker_IdAndEndIsAfterAndStartIsBeforeOrderByStartDesc(Long bookerId, Instant end, Instant start);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByBooker_IdAndPhaseAndStartIsAfterOrderByStartDescIdDesc(
+            Long bookerId, BookingPhase phase, Instant date, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByBooker_IdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByBooker_IdAndPhaseInAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(
+            Long bookerId, Collection<BookingPhase> phases, Instant end, Instant start,
+            ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItem_Owner_IdOrderByStartDesc(Long ownerId);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByBooker_IdAndStatusOrderByStartDescIdDesc(
+            Long bookerId, BookingStatus status, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItem_Owner_IdAndEndIsBeforeOrderByStartDesc(Long ownerId, Instant date);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByOwnerIdOrderByStartDescIdDesc(
+            Long ownerId, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItem_Owner_IdAndStartIsAfterOrderByStartDesc(Long ownerId, Instant date);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByOwnerIdAndEndIsBeforeOrderByStartDescIdDesc(
+            Long ownerId, Instant date, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItem_Owner_IdAndEndIsAfterAndStartIsBeforeOrderByStartDesc(Long ownerId, Instant end, Instant start);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByOwnerIdAndPhaseAndStartIsAfterOrderByStartDescIdDesc(
+            Long ownerId, BookingPhase phase, Instant date, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItem_Owner_IdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByOwnerIdAndPhaseInAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(
+            Long ownerId, Collection<BookingPhase> phases, Instant end, Instant start,
+            ScrollPosition position, Limit limit);
 
-    @Query(value = "SELECT b.item_id as itemId, " +
-            "       MAX(CASE WHEN b.end_date < CURRENT_TIMESTAMP THEN b.end_date ELSE null END) as lastBooking, " +
-            "       MIN(CASE WHEN b.start_date > CURRENT_TIMESTAMP THEN b.start_date ELSE null END) as nextBooking " +
-            "FROM bookings as b " +
-            "LEFT JOIN items as i ON i.id = b.item_id " +
-            "WHERE i.owner_id = :ownerId " +
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findAllByOwnerIdAndStatusOrderByStartDescIdDesc(
+            Long ownerId, BookingStatus status, ScrollPosition position, Limit limit);
+
+    /**
+     * Вся история бронирований вещей владельца для выгрузки. Строки читаются курсором порциями по
+     * {@link #EXPORT_FETCH_SIZE}, сущности не отслеживаются и не попадают в кэш второго уровня.
+     * Поток нужно закрыть и прочитать внутри транзакции.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker " +
+            "WHERE b.ownerId = :ownerId ORDER BY b.start DESC, b.id DESC")
+    Stream<Booking> streamAllByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Статусы сравниваются с кодами из {@link BookingStatus}: 0 — WAITING, 1 — APPROVED.
+     */
+    @Query(value = "SELECT b.item_id AS itemId, " +
+            "       MAX(CASE WHEN b.end_date < :now THEN b.end_date END) AS lastBookingEnd, " +
+            "       MIN(CASE WHEN b.start_date > :now THEN b.start_date END) AS nextBookingStart, " +
+            "       MIN(CASE WHEN b.start_date <= :now AND b.end_date >= :now THEN b.end_date END) AS currentBookingEnd, " +
+            "       MAX(CASE WHEN b.status IN (0, 1) " +
+            "                 AND b.start_date <= :now AND b.end_date > :now THEN b.id END) AS activeBookingId " +
+            "FROM bookings AS b " +
+            "WHERE b.item_id IN (:itemIds) " +
             "GROUP BY b.item_id", nativeQuery = true)
-    List<BookingDatesView> findLastAndNextBookingDatesByOwnerId(@Param("ownerId") Long ownerId);
+    List<BookingSummaryView> findBookingSummariesByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                           @Param("now") Instant now);
+
+    /**
+     * Читает одну запись индекса {@code (item_id, end_date)} вместо агрегации по всем бронированиям вещи.
+     */
+    @Query("SELECT b.end FROM Booking b WHERE b.item.id = :itemId AND b.end < :now ORDER BY b.end DESC LIMIT 1")
+    Optional<Instant> findLastBookingEndByItemId(@Param("itemId") Long itemId, @Param("now") Instant now);
+
+    /**
+     * Читает одну запись индекса {@code (item_id, start_date)} вместо агрегации по всем бронированиям вещи.
+     */
+    @Query("SELECT b.start FROM Booking b WHERE b.item.id = :itemId AND b.start > :now ORDER BY b.start LIMIT 1")
+    Optional<Instant> findNextBookingStartByItemId(@Param("itemId") Long itemId, @Param("now") Instant now);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.ownerId AS ownerId, b.status AS status " +
+            "FROM Booking b WHERE b.id IN :bookingIds")
+    List<BookingOwnerView> findOwnerViewsByIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Меняет статус только тех бронирований, которые всё ещё в статусе {@code expected} и относятся к вещам
+     * владельца. Версия увеличивается вручную: массовое обновление её не трогает, а одиночное подтверждение
+     * должно заметить это изменение.
+     *
+     * @return количество изменённых бронирований
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id IN :bookingIds AND b.status = :expected AND b.ownerId = :ownerId")
+    int updateStatusByIdInAndOwnerId(@Param("bookingIds") Collection<Long> bookingIds,
+                                     @Param("ownerId") Long ownerId,
+                                     @Param("expected") BookingStatus expected,
+                                     @Param("status") BookingStatus status);
+
+    /**
+     * Вещи бронирований в статусе {@code status}, которые уже начались, в порядке начала бронирований.
+     * Вещь повторяется столько раз, сколько у неё таких бронирований в порции.
+     */
+    @Query("SELECT b.item.id FROM Booking b WHERE b.status = :status AND b.start <= :now " +
+            "ORDER BY b.start, b.id LIMIT :limit")
+    List<Long> findItemIdsByStatusAndStartLessThanEqual(@Param("status") BookingStatus status,
+                                                        @Param("now") Instant now,
+                                                        @Param("limit") int limit);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.ownerId AS ownerId, b.status AS status " +
+            "FROM Booking b WHERE b.item.id IN :itemIds AND b.status = :status AND b.start <= :now")
+    List<BookingOwnerView> findOwnerViewsByItemIdInAndStatusAndStartLessThanEqual(
+            @Param("itemIds") Collection<Long> itemIds,
+            @Param("status") BookingStatus status,
+            @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id IN :bookingIds AND b.status = :expected")
+    int updateStatusByIdIn(@Param("bookingIds") Collection<Long> bookingIds,
+                           @Param("expected") BookingStatus expected,
+                           @Param("status") BookingStatus status);
+
+    /**
+     * Переводит в PAST не больше {@code limit} закончившихся бронирований. Версия не меняется:
+     * фаза не видна клиентам, а если параллельное сохранение бронирования вернёт прежнюю фазу,
+     * она лишь снова отстанет и будет переведена следующим запуском.
+     *
+     * @return количество переведённых бронирований
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.phase = ru.practicum.shareit.booking.enums.BookingPhase.PAST " +
+            "WHERE b.id IN (SELECT o.id FROM Booking o " +
+            "WHERE o.phase IN (ru.practicum.shareit.booking.enums.BookingPhase.FUTURE, " +
+            "ru.practicum.shareit.booking.enums.BookingPhase.CURRENT) " +
+            "AND o.end <= :now ORDER BY o.end LIMIT :limit)")
+    int markPast(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Переводит в CURRENT не больше {@code limit} начавшихся, но ещё не закончившихся бронирований.
+     *
+     * @return количество переведённых бронирований
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.phase = ru.practicum.shareit.booking.enums.BookingPhase.CURRENT " +
+            "WHERE b.id IN (SELECT o.id FROM Booking o " +
+            "WHERE o.phase = ru.practicum.shareit.booking.enums.BookingPhase.FUTURE " +
+            "AND o.start <= :now AND o.end > :now ORDER BY o.start LIMIT :limit)")
+    int markCurrent(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Query("SELECT b.item.id FROM Booking b WHERE b.id = :bookingId")
+    Optional<Long> findItemIdById(@Param("bookingId") Long bookingId);
+
+    boolean existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(
+            Long itemId, Collection<BookingStatus> statuses, Instant end, Instant start);
 
     List<Booking> findAllByItem_IdAndBooker_IdAndEndIsBefore(Long itemId, Long bookerId, Instant date);
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+/**
+ * Результат рассмотрения одного бронирования из пакета: заполнено либо {@code status}, либо {@code error}.
+ */
+@Data
+public class BatchBookingResultDto {
+    private final Long bookingId;
+    private final BookingStatus status;
+    private final String error;
+
+    public static BatchBookingResultDto changed(Long bookingId, BookingStatus status) {
+        return new BatchBookingResultDto(bookingId, status, null);
+    }
+
+    public static BatchBookingResultDto failed(Long bookingId, String error) {
+        return new BatchBookingResultDto(bookingId, null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+import ru.practicum.shareit.booking.enums.BookingEventType;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BookingEventDto {
+    private final Long id;
+    private final BookingEventType type;
+    private final Long bookingId;
+    private final Long itemId;
+    private final LocalDateTime occurredAt;
+}
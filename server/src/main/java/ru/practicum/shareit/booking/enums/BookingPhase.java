@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Положение бронирования относительно текущего момента, сохранённое в таблице.
+ * Фаза только отстаёт от действительной: планировщик переводит её вперёд с опозданием,
+ * но никогда не ставит раньше срока, поэтому запросы могут сужать по ней выборку и дополнять её сравнением дат.
+ * <p>
+ * Как и {@link BookingStatus}, хранится явно заданным кодом.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BookingPhase {
+    FUTURE((short) 0),
+    CURRENT((short) 1),
+    PAST((short) 2);
+
+    private final short code;
+
+    public static BookingPhase fromCode(short code) {
+        for (BookingPhase phase : values()) {
+            if (phase.code == code) {
+                return phase;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный код фазы бронирования: " + code);
+    }
+}
@@ -1,8 +1,29 @@
 package ru.practicum.shareit.booking.enums;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * В таблице хранится код статуса (SMALLINT), заданный у каждой константы явно. Коды записаны в миграциях
+ * и частичных индексах, поэтому не меняются, а порядок констант на хранение не влияет.
+ */
+@Getter
+@RequiredArgsConstructor
 public enum BookingStatus {
-    WAITING,
-    APPROVED,
-    REJECTED,
-    CANCELED
+    WAITING((short) 0),
+    APPROVED((short) 1),
+    REJECTED((short) 2),
+    CANCELED((short) 3),
+    EXPIRED((short) 4);
+
+    private final short code;
+
+    public static BookingStatus fromCode(short code) {
+        for (BookingStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный код статуса бронирования: " + code);
+    }
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.event;
+
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+
+import java.util.List;
+
+/**
+ * Получатель событий бронирований. Каждый бин с этим интерфейсом получает все события.
+ * Доставка «хотя бы один раз»: после сбоя любого получателя пакет повторяется для всех,
+ * а порядок событий одного бронирования не гарантируется, поэтому обработка должна быть идемпотентной
+ * и опираться на {@code occurredAt}, а не на порядок вызовов.
+ */
+public interface BookingEventConsumer {
+
+    void consume(List<BookingEventDto> events);
+
+}
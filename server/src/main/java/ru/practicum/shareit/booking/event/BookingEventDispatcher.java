@@ -0,0 +1,192 @@
+package ru.practicum.shareit.booking.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dao.BookingEventRepository;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.share.util.DateTimeUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Доставляет события из таблицы {@code booking_events} получателям пакетами.
+ * Пакет захватывается на время аренды {@code lease} и доставляется вне транзакции, поэтому получатели
+ * не держат блокировки строк и работают в своих транзакциях. Если экземпляр сервера упал до подтверждения,
+ * события вернутся в очередь, когда аренда истечёт.
+ * <p>
+ * Следующий пакет забирается только после того, как получатели обработали предыдущий: медленный получатель
+ * замедляет разбор очереди, а события копятся в таблице, не занимая память и не задерживая запросы.
+ */
+@Component
+public class BookingEventDispatcher {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final BookingEventRepository repository;
+    private final List<BookingEventConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+
+    private final Counter published;
+    private final Counter retried;
+    private final Counter dead;
+    private final Timer delivery;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Autowired
+    public BookingEventDispatcher(BookingEventRepository repository,
+                                  ObjectProvider<BookingEventConsumer> consumers,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${shareit.booking.events.batch-size:500}") int batchSize,
+                                  @Value("${shareit.booking.events.max-attempts:10}") int maxAttempts,
+                                  @Value("${shareit.booking.events.lease:PT1M}") Duration lease,
+                                  @Value("${shareit.booking.events.retry-delay:PT5S}") Duration retryDelay,
+                                  @Value("${shareit.booking.events.max-retry-delay:PT10M}") Duration maxRetryDelay) {
+        this.repository = repository;
+        this.consumers = consumers.orderedStream().toList();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+
+        this.published = outcomeCounter(meterRegistry, "published");
+        this.retried = outcomeCounter(meterRegistry, "retried");
+        this.dead = outcomeCounter(meterRegistry, "dead");
+        this.delivery = Timer.builder("shareit.booking.events.delivery")
+                .description("Время доставки пакета событий всем получателям")
+                .register(meterRegistry);
+        TimeGauge.builder("shareit.booking.events.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::doubleValue)
+                .description("Возраст самого старого события в последнем разобранном пакете")
+                .register(meterRegistry);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Захватывает, доставляет и подтверждает один пакет.
+     *
+     * @return число событий в пакете, 0 — если доставлять нечего
+     */
+    public int dispatchBatch() {
+        Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
+        List<BookingEvent> events = transactionTemplate.execute(status -> claim(nowUtc));
+        if (events.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+
+        Instant oldest = events.stream().map(BookingEvent::getOccurredAt).min(Instant::compareTo).orElseThrow();
+        lagMillis.set(Duration.between(oldest, nowUtc).toMillis());
+
+        Map<Long, String> failures = delivery.record(() -> deliver(events.stream()
+                .map(BookingMapper::toBookingEventDto)
+                .toList()));
+        transactionTemplate.executeWithoutResult(status -> complete(events, failures));
+        return events.size();
+    }
+
+    private List<BookingEvent> claim(Instant nowUtc) {
+        List<BookingEvent> events = repository.findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(
+                nowUtc, Limit.of(batchSize));
+        events.forEach(event -> {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setNextAttemptAt(nowUtc.plus(lease));
+        });
+        return events;
+    }
+
+    /**
+     * Если пакет целиком не прошёл, события доставляются по одному, чтобы повторялись только те, что не удались.
+     *
+     * @return текст ошибки по идентификатору события, которое не удалось доставить
+     */
+    private Map<Long, String> deliver(List<BookingEventDto> events) {
+        try {
+            consumers.forEach(consumer -> consumer.consume(events));
+            return Map.of();
+        } catch (RuntimeException e) {
+            if (events.size() == 1) {
+                return Map.of(events.getFirst().getId(), e.toString());
+            }
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        for (BookingEventDto event : events) {
+            try {
+                consumers.forEach(consumer -> consumer.consume(List.of(event)));
+            } catch (RuntimeException e) {
+                failures.put(event.getId(), e.toString());
+            }
+        }
+        return failures;
+    }
+
+    private void complete(List<BookingEvent> events, Map<Long, String> failures) {
+        List<Long> deliveredIds = events.stream()
+                .map(BookingEvent::getId)
+                .filter(id -> !failures.containsKey(id))
+                .toList();
+        repository.deleteAllByIdInBatch(deliveredIds);
+        published.increment(deliveredIds.size());
+        if (failures.isEmpty()) {
+            return;
+        }
+
+        Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
+        for (BookingEvent event : repository.findAllById(failures.keySet())) {
+            event.setLastError(truncate(failures.get(event.getId())));
+            if (event.getAttempts() >= maxAttempts) {
+                event.setNextAttemptAt(null);
+                dead.increment();
+            } else {
+                event.setNextAttemptAt(nowUtc.plus(getRetryDelay(event.getAttempts())));
+                retried.increment();
+            }
+        }
+    }
+
+    /**
+     * Задержка удваивается с каждой попыткой, но не превышает {@code max-retry-delay}.
+     */
+    private Duration getRetryDelay(int attempts) {
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("shareit.booking.events")
+                .description("События бронирований по результату доставки")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
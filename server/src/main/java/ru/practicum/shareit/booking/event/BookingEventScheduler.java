@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Разбирает очередь событий бронирований, пока в ней есть полные пакеты.
+ * За один запуск берётся не больше {@code max-batches-per-run} пакетов, чтобы большая очередь
+ * не занимала поток планировщика, общий с другими фоновыми задачами.
+ */
+@Component
+public class BookingEventScheduler {
+    private final BookingEventDispatcher dispatcher;
+    private final int maxBatchesPerRun;
+
+    @Autowired
+    public BookingEventScheduler(BookingEventDispatcher dispatcher,
+                                 @Value("${shareit.booking.events.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.dispatcher = dispatcher;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.events.poll-interval:PT1S}")
+    public void dispatch() {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (dispatcher.dispatchBatch() < dispatcher.getBatchSize()) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.ExportFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Пишет бронирования в поток ответа по одному, ничего не накапливая. Запись буферизуется,
+ * а {@link #close()} дописывает буфер, не закрывая сам поток.
+ */
+public interface BookingExportWriter extends Closeable {
+
+    void write(BookingDto booking) throws IOException;
+
+    static BookingExportWriter of(ExportFormat format, ObjectMapper objectMapper, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonBookingExportWriter(objectMapper, out);
+            case CSV -> new CsvBookingExportWriter(out);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking.export;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * CSV по RFC 4180: поля с запятой, кавычкой или переводом строки берутся в кавычки.
+ * Даты пишутся всегда до секунд: {@code LocalDateTime.toString()} опускает нулевые секунды.
+ */
+class CsvBookingExportWriter implements BookingExportWriter {
+    private static final String HEADER = "id,start,end,status,item_id,item_name,booker_id,booker_name,booker_email";
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final Writer writer;
+
+    CsvBookingExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(BookingDto booking) throws IOException {
+        writer.write(String.valueOf(booking.getId()));
+        writer.write(',');
+        writer.write(DATE_TIME_FORMATTER.format(booking.getStart()));
+        writer.write(',');
+        writer.write(DATE_TIME_FORMATTER.format(booking.getEnd()));
+        writer.write(',');
+        writer.write(booking.getStatus().name());
+        writer.write(',');
+        writer.write(String.valueOf(booking.getItem().getId()));
+        writer.write(',');
+        writer.write(escape(booking.getItem().getName()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getBooker().getId()));
+        writer.write(',');
+        writer.write(escape(booking.getBooker().getName()));
+        writer.write(',');
+        writer.write(escape(booking.getBooker().getEmail()));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Одно бронирование в формате ответа {@code GET /bookings/{id}} на строку.
+ */
+class NdjsonBookingExportWriter implements BookingExportWriter {
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+
+    NdjsonBookingExportWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        // Без сброса после каждой строки ответ уходит крупными блоками, а не по записи
+        this.writer = objectMapper.writerFor(BookingDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(BookingDto booking) throws IOException {
+        writer.writeValue(generator, booking);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -3,15 +3,20 @@ package ru.practicum.shareit.booking.mapper;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.enums.BookingEventType;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEvent;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.share.util.DateTimeUtils;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Instant;
+
 @UtilityClass
 public class BookingMapper {
 
@@ -36,4 +41,24 @@ public class BookingMapper {
         return booking;
     }
 
+    public BookingEvent toBookingEvent(Long bookingId, Long itemId, BookingEventType type, Instant occurredAt) {
+        BookingEvent event = new BookingEvent();
+        event.setType(type);
+        event.setBookingId(bookingId);
+        event.setItemId(itemId);
+        event.setOccurredAt(occurredAt);
+        event.setNextAttemptAt(occurredAt);
+        return event;
+    }
+
+    public BookingEventDto toBookingEventDto(BookingEvent event) {
+        return new BookingEventDto(
+                event.getId(),
+                event.getType(),
+                event.getBookingId(),
+                event.getItemId(),
+                DateTimeUtils.toLocalDateTime(event.getOccurredAt())
+        );
+    }
+
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import ru.practicum.shareit.booking.enums.BookingPhase;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.share.util.DateTimeUtils;
@@ -17,7 +18,8 @@ import java.time.LocalDateTime;
 @ToString
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_date", nullable = false)
@@ -31,14 +33,33 @@ public class Booking {
     @ToString.Exclude
     private Item item;
 
+    // Копия владельца вещи: списки владельца фильтруются по bookings без соединения с items.
+    // Совпадение с items.owner_id проверяет внешний ключ (item_id, owner_id), он же переносит смену владельца
+    @Column(name = "owner_id", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private Long ownerId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id", nullable = false)
     @ToString.Exclude
     private User booker;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = BookingStatusConverter.class)
     private BookingStatus status;
 
+    // Новые бронирования всегда начинают с FUTURE: отстающая фаза допустима, её догонит планировщик
+    @Convert(converter = BookingPhaseConverter.class)
+    @Column(nullable = false)
+    private BookingPhase phase = BookingPhase.FUTURE;
+
+    @Version
+    private Long version;
+
+    public void setItem(Item item) {
+        this.item = item;
+        this.ownerId = item != null && item.getOwner() != null ? item.getOwner().getId() : null;
+    }
+
     public void setStatus(BookingStatus status) {
         this.status = status != null ? status : BookingStatus.WAITING;
     }
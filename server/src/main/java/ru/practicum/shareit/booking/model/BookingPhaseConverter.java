@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import ru.practicum.shareit.booking.enums.BookingPhase;
+
+@Converter
+public class BookingPhaseConverter implements AttributeConverter<BookingPhase, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(BookingPhase phase) {
+        return phase == null ? null : phase.getCode();
+    }
+
+    @Override
+    public BookingPhase convertToEntityAttribute(Short code) {
+        return code == null ? null : BookingPhase.fromCode(code);
+    }
+}
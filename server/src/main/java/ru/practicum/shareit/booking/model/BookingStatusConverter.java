@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+@Converter
+public class BookingStatusConverter implements AttributeConverter<BookingStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(BookingStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public BookingStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : BookingStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Истекает неотвеченные бронирования и сдвигает фазы бронирований порциями по {@code batch-size}.
+ * Каждый переход выполняется, пока порции полные, но не больше {@code max-batches-per-run} раз за запуск:
+ * остаток доберут следующие запуски, не занимая надолго общий поток планировщика.
+ */
+@Component
+public class BookingLifecycleScheduler {
+    private final BookingLifecycleService lifecycleService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    @Autowired
+    public BookingLifecycleScheduler(BookingLifecycleService lifecycleService,
+                                     @Value("${shareit.booking.lifecycle.batch-size:500}") int batchSize,
+                                     @Value("${shareit.booking.lifecycle.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.lifecycleService = lifecycleService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.lifecycle.sweep-interval:PT1M}")
+    public void sweep() {
+        runBatches(lifecycleService::expireStale);
+        // Сначала PAST: тогда бронирование, закончившееся между запусками, не проходит через CURRENT
+        runBatches(lifecycleService::markPast);
+        runBatches(lifecycleService::markCurrent);
+    }
+
+    private void runBatches(IntSupplier batch) {
+        for (int run = 0; run < maxBatchesPerRun; run++) {
+            if (batch.getAsInt() < batchSize) {
+                return;
+            }
+        }
+    }
+}
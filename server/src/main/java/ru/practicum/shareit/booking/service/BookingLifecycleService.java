@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.service;
+
+/**
+ * Фоновые переходы бронирований, которые происходят со временем, а не по запросу пользователя.
+ * Каждый метод обрабатывает не больше одной порции в своей транзакции.
+ */
+public interface BookingLifecycleService {
+
+    /**
+     * Переводит в EXPIRED бронирования, которые начались, так и не дождавшись решения владельца.
+     *
+     * @return количество истёкших бронирований
+     */
+    int expireStale();
+
+    /**
+     * Переводит в PAST фазу закончившихся бронирований.
+     *
+     * @return количество переведённых бронирований
+     */
+    int markPast();
+
+    /**
+     * Переводит в CURRENT фазу начавшихся бронирований.
+     *
+     * @return количество переведённых бронирований
+     */
+    int markCurrent();
+}
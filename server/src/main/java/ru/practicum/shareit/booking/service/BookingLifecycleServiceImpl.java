@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingEventRepository;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingEventType;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.view.BookingOwnerView;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.share.util.DateTimeUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+
+@Service
+@Transactional
+public class BookingLifecycleServiceImpl implements BookingLifecycleService {
+    private final BookingRepository repository;
+    private final BookingEventRepository eventRepository;
+    private final ItemRepository itemRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final int batchSize;
+
+    @Autowired
+    public BookingLifecycleServiceImpl(BookingRepository repository,
+                                       BookingEventRepository eventRepository,
+                                       ItemRepository itemRepository,
+                                       ItemBookingSummaryService itemBookingSummaryService,
+                                       @Value("${shareit.booking.lifecycle.batch-size:500}") int batchSize) {
+        this.repository = repository;
+        this.eventRepository = eventRepository;
+        this.itemRepository = itemRepository;
+        this.itemBookingSummaryService = itemBookingSummaryService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Строки вещей блокируются раньше бронирований, как при создании и подтверждении, поэтому пересчёт
+     * сводок не пересекается с ними. Вещи, которые сейчас бронируют или подтверждают, пропускаются
+     * ({@code SKIP LOCKED}) до следующего запуска. Пока вещи заблокированы, статусы их бронирований
+     * не меняет никто другой, и события пишутся ровно для тех, что истекли.
+     */
+    @Override
+    public int expireStale() {
+        Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
+        List<Long> candidateItemIds = repository.findItemIdsByStatusAndStartLessThanEqual(
+                BookingStatus.WAITING, nowUtc, batchSize);
+        if (candidateItemIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> itemIds = itemRepository.findAllWithSkipLockedByIdInOrderByIdAsc(new TreeSet<>(candidateItemIds))
+                .stream()
+                .map(Item::getId)
+                .toList();
+        List<BookingOwnerView> bookings = itemIds.isEmpty() ? List.of()
+                : repository.findOwnerViewsByItemIdInAndStatusAndStartLessThanEqual(itemIds, BookingStatus.WAITING, nowUtc);
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> bookingIds = bookings.stream().map(BookingOwnerView::getId).toList();
+        int expired = repository.updateStatusByIdIn(bookingIds, BookingStatus.WAITING, BookingStatus.EXPIRED);
+        eventRepository.saveAll(bookings.stream()
+                .map(booking -> BookingMapper.toBookingEvent(
+                        booking.getId(), booking.getItemId(), BookingEventType.EXPIRED, nowUtc))
+                .toList());
+        // Истёкшее бронирование больше не считается активным в сводке вещи
+        itemBookingSummaryService.refresh(itemIds);
+        return expired;
+    }
+
+    @Override
+    public int markPast() {
+        return repository.markPast(DateTimeUtils.toUTC(LocalDateTime.now()), batchSize);
+    }
+
+    @Override
+    public int markCurrent() {
+        return repository.markCurrent(DateTimeUtils.toUTC(LocalDateTime.now()), batchSize);
+    }
+}
@@ -1,9 +1,14 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.enums.BookingStatusView;
+import ru.practicum.shareit.booking.enums.ExportFormat;
+import ru.practicum.shareit.share.dto.CursorPage;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface BookingService {
@@ -12,9 +17,20 @@ public interface BookingService {
 
     BookingDto approve(Long userId, Long bookingId, Boolean approved);
 
+    /**
+     * Подтверждает или отклоняет ожидающие бронирования вещей владельца одним обновлением.
+     * Результат возвращается для каждого id в порядке запроса; повторы учитываются один раз.
+     */
+    List<BatchBookingResultDto> approveAll(Long userId, List<Long> bookingIds, boolean approved);
+
     BookingDto getById(Long userId, Long bookingId);
 
-    List<BookingDto> getAllByBooker(Long userId, BookingStatusView state);
+    CursorPage<BookingDto> getAllByBooker(Long userId, BookingStatusView state, String cursor, int from, int size);
+
+    CursorPage<BookingDto> getAllByOwner(Long userId, BookingStatusView state, String cursor, int from, int size);
 
-    List<BookingDto> getAllByOwner(Long userId, BookingStatusView state);
+    /**
+     * Пишет в {@code out} всю историю бронирований вещей владельца, от новых к старым, по мере чтения из базы.
+     */
+    void exportAllByOwner(Long userId, ExportFormat format, OutputStream out) throws IOException;
 }
@@ -1,68 +1,137 @@
 package ru.practicum.shareit.booking.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingEventRepository;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.enums.BookingEventType;
+import ru.practicum.shareit.booking.enums.BookingPhase;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.enums.BookingStatusView;
+import ru.practicum.shareit.booking.enums.ExportFormat;
+import ru.practicum.shareit.booking.export.BookingExportWriter;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.booking.utils.BookingCursorUtils;
+import ru.practicum.shareit.booking.view.BookingOwnerView;
 import ru.practicum.shareit.core.error.exception.LackOfRightsException;
 import ru.practicum.shareit.core.error.exception.NotAvailableException;
 import ru.practicum.shareit.core.error.exception.NotFoundException;
+import ru.practicum.shareit.core.error.exception.NotValidException;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.lock.ItemLocks;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.share.dto.CursorPage;
 import ru.practicum.shareit.share.util.DateTimeUtils;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    // Текущее бронирование может ещё числиться будущим, если планировщик не успел перевести его фазу
+    private static final List<BookingPhase> OPEN_PHASES = List.of(BookingPhase.FUTURE, BookingPhase.CURRENT);
+
     private final BookingRepository repository;
+    private final BookingEventRepository eventRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemLocks itemLocks;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingDto create(CreateBookingDto bookingDto, Long bookerId) {
-        User booker = userRepository.findById(bookerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id = " + bookerId + " не найден"));
-
-        Item item = itemRepository.findById(bookingDto.getItemId())
-                .orElseThrow(() -> new NotFoundException("Вещь с id = " + bookingDto.getItemId() + " не найдена"));
-
-        if (!item.getAvailable()) {
-            throw new NotAvailableException("Вещь с id = " + bookingDto.getItemId() + " не доступна для бронирования");
-        }
-
-        Booking booking = BookingMapper.toBooking(bookingDto, item, booker);
-
-        Booking created = repository.save(booking);
+        return itemLocks.executeLocked(bookingDto.getItemId(), () -> doCreate(bookingDto, bookerId));
+    }
 
-        return BookingMapper.toBookingDto(created);
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BookingDto approve(Long userId, Long bookingId, Boolean approved) {
+        Long itemId = repository.findItemIdById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование с id = " + bookingId + " не найдено"));
+        return itemLocks.executeLocked(itemId, () -> doApprove(userId, itemId, bookingId, approved));
     }
 
+    /**
+     * Обновление меняет только бронирования, которые всё ещё ждут решения, и если какое-то из них успели
+     * рассмотреть другим запросом, пакет откатывается целиком. Перед обновлением строки затронутых вещей
+     * блокируются в порядке идентификаторов, чтобы пересчёт сводок не пересекался с бронированиями этих вещей.
+     */
     @Override
     @Transactional
-    public BookingDto approve(Long userId, Long bookingId, Boolean approved) {
-        Booking booking = findByIdOrThrow(bookingId);
-        if (!booking.getItem().getOwner().getId().equals(userId)) {
-            throw new LackOfRightsException(
-                    String.format("Пользователь с ID %d не является владельцем вещи с ID %d", userId, booking.getItem().getId())
-            );
+    public List<BatchBookingResultDto> approveAll(Long userId, List<Long> bookingIds, boolean approved) {
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        BookingEventType eventType = getDecisionEventType(approved);
+        Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
+        Set<Long> uniqueIds = new LinkedHashSet<>(bookingIds);
+        Map<Long, BookingOwnerView> views = repository.findOwnerViewsByIdIn(uniqueIds).stream()
+                .collect(Collectors.toMap(BookingOwnerView::getId, Function.identity()));
+
+        List<BatchBookingResultDto> results = new ArrayList<>(uniqueIds.size());
+        List<Long> pendingIds = new ArrayList<>();
+        List<BookingEvent> events = new ArrayList<>();
+        Set<Long> itemIds = new TreeSet<>();
+        for (Long bookingId : uniqueIds) {
+            BookingOwnerView view = views.get(bookingId);
+            if (view == null) {
+                results.add(BatchBookingResultDto.failed(bookingId, "Бронирование с id = " + bookingId + " не найдено"));
+            } else if (!view.getOwnerId().equals(userId)) {
+                results.add(BatchBookingResultDto.failed(bookingId, String.format(
+                        "Пользователь с ID %d не является владельцем вещи с ID %d", userId, view.getItemId())));
+            } else if (view.getStatus() != BookingStatus.WAITING) {
+                results.add(BatchBookingResultDto.failed(bookingId, "Бронирование с id = " + bookingId + " уже рассмотрено"));
+            } else {
+                results.add(BatchBookingResultDto.changed(bookingId, status));
+                pendingIds.add(bookingId);
+                events.add(BookingMapper.toBookingEvent(bookingId, view.getItemId(), eventType, nowUtc));
+                itemIds.add(view.getItemId());
+            }
         }
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        Booking saved = repository.save(booking);
-        return BookingMapper.toBookingDto(saved);
+        if (pendingIds.isEmpty()) {
+            return results;
+        }
+
+        itemRepository.findAllWithLockByIdInOrderByIdAsc(itemIds);
+        int updated = repository.updateStatusByIdInAndOwnerId(pendingIds, userId, BookingStatus.WAITING, status);
+        if (updated != pendingIds.size()) {
+            throw new OptimisticLockingFailureException("Часть бронирований рассмотрена другим запросом");
+        }
+        eventRepository.saveAll(events);
+        itemBookingSummaryService.refresh(itemIds);
+        return results;
     }
 
     @Override
@@ -80,37 +149,149 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getAllByBooker(Long userId, BookingStatusView state) {
+    public CursorPage<BookingDto> getAllByBooker(Long userId, BookingStatusView state, String cursor, int from, int size) {
         Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
-        List<Booking> bookings = switch (state) {
-            case CURRENT -> repository.findAllByBooker_IdAndEndIsAfterAndStartIsBeforeOrderByStartDesc(
-                    userId, nowUtc, nowUtc);
-            case PAST -> repository.findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(userId, nowUtc);
-            case FUTURE -> repository.findAllByBooker_IdAndStartIsAfterOrderByStartDesc(userId, nowUtc);
-            case WAITING -> repository.findAllByBooker_IdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING);
-            case REJECTED -> repository.findAllByBooker_IdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED);
-            case ALL -> repository.findAllByBooker_IdOrderByStartDesc(userId);
+        ScrollPosition position = getScrollPosition(cursor, from);
+        Limit limit = getLimit(size);
+
+        Window<Booking> bookings = switch (state) {
+            case CURRENT -> repository.findAllByBooker_IdAndPhaseInAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(
+                    userId, OPEN_PHASES, nowUtc, nowUtc, position, limit);
+            case PAST -> repository.findAllByBooker_IdAndEndIsBeforeOrderByStartDescIdDesc(
+                    userId, nowUtc, position, limit);
+            case FUTURE -> repository.findAllByBooker_IdAndPhaseAndStartIsAfterOrderByStartDescIdDesc(
+                    userId, BookingPhase.FUTURE, nowUtc, position, limit);
+            case WAITING -> repository.findAllByBooker_IdAndStatusOrderByStartDescIdDesc(
+                    userId, BookingStatus.WAITING, position, limit);
+            case REJECTED -> repository.findAllByBooker_IdAndStatusOrderByStartDescIdDesc(
+                    userId, BookingStatus.REJECTED, position, limit);
+            case ALL -> repository.findAllByBooker_IdOrderByStartDescIdDesc(userId, position, limit);
         };
-        return bookings.stream().map(BookingMapper::toBookingDto).toList();
+        return toCursorPage(bookings);
     }
 
     @Override
-    public List<BookingDto> getAllByOwner(Long userId, BookingStatusView state) {
+    public CursorPage<BookingDto> getAllByOwner(Long userId, BookingStatusView state, String cursor, int from, int size) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id = " + userId + " не найден"));
 
         Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
+        ScrollPosition position = getScrollPosition(cursor, from);
+        Limit limit = getLimit(size);
 
-        List<Booking> bookings = switch (state) {
-            case CURRENT -> repository.findAllByItem_Owner_IdAndEndIsAfterAndStartIsBeforeOrderByStartDesc(
-                    userId, nowUtc, nowUtc);
-            case PAST -> repository.findAllByItem_Owner_IdAndEndIsBeforeOrderByStartDesc(userId, nowUtc);
-            case FUTURE -> repository.findAllByItem_Owner_IdAndStartIsAfterOrderByStartDesc(userId, nowUtc);
-            case WAITING -> repository.findAllByItem_Owner_IdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING);
-            case REJECTED -> repository.findAllByItem_Owner_IdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED);
-            case ALL -> repository.findAllByItem_Owner_IdOrderByStartDesc(userId);
+        Window<Booking> bookings = switch (state) {
+            case CURRENT -> repository.findAllByOwnerIdAndPhaseInAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(
+                    userId, OPEN_PHASES, nowUtc, nowUtc, position, limit);
+            case PAST -> repository.findAllByOwnerIdAndEndIsBeforeOrderByStartDescIdDesc(
+                    userId, nowUtc, position, limit);
+            case FUTURE -> repository.findAllByOwnerIdAndPhaseAndStartIsAfterOrderByStartDescIdDesc(
+                    userId, BookingPhase.FUTURE, nowUtc, position, limit);
+            case WAITING -> repository.findAllByOwnerIdAndStatusOrderByStartDescIdDesc(
+                    userId, BookingStatus.WAITING, position, limit);
+            case REJECTED -> repository.findAllByOwnerIdAndStatusOrderByStartDescIdDesc(
+                    userId, BookingStatus.REJECTED, position, limit);
+            case ALL -> repository.findAllByOwnerIdOrderByStartDescIdDesc(userId, position, limit);
         };
-        return bookings.stream().map(BookingMapper::toBookingDto).toList();
+        return toCursorPage(bookings);
+    }
+
+    @Override
+    public void exportAllByOwner(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id = " + userId + " не найден"));
+
+        try (Stream<Booking> bookings = repository.streamAllByOwnerId(userId);
+             BookingExportWriter writer = BookingExportWriter.of(format, objectMapper, out)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                writer.write(BookingMapper.toBookingDto(iterator.next()));
+                // Вещи и авторы, загруженные вместе с бронированиями, иначе копились бы в контексте до конца выгрузки
+                if (++written % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Курсор, полученный с предыдущей страницей, имеет приоритет над смещением {@code from}.
+     * Смещение поддерживается только для совместимости: с ним глубокие страницы дороже первой.
+     */
+    private ScrollPosition getScrollPosition(String cursor, int from) {
+        if (cursor != null && !cursor.isBlank()) {
+            return BookingCursorUtils.decode(cursor);
+        }
+        if (from < 0) {
+            throw new NotValidException("Индекс первого элемента не может быть отрицательным");
+        }
+        return from == 0 ? ScrollPosition.keyset() : ScrollPosition.offset(from - 1);
+    }
+
+    private Limit getLimit(int size) {
+        if (size < 1) {
+            throw new NotValidException("Размер страницы не может быть меньше 1");
+        }
+        return Limit.of(size);
+    }
+
+    private CursorPage<BookingDto> toCursorPage(Window<Booking> bookings) {
+        List<BookingDto> content = bookings.stream().map(BookingMapper::toBookingDto).toList();
+        String nextCursor = bookings.hasNext() ? BookingCursorUtils.encode(bookings.getContent().getLast()) : null;
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    private BookingDto doCreate(CreateBookingDto bookingDto, Long bookerId) {
+        User booker = userRepository.findById(bookerId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id = " + bookerId + " не найден"));
+
+        // Блокировка строки вещи выстраивает в очередь бронирования из разных экземпляров сервера,
+        // поэтому проверка пересечений ниже не может пропустить ещё не зафиксированную бронь
+        Item item = itemRepository.findWithLockById(bookingDto.getItemId())
+                .orElseThrow(() -> new NotFoundException("Вещь с id = " + bookingDto.getItemId() + " не найдена"));
+
+        if (!item.getAvailable()) {
+            throw new NotAvailableException("Вещь с id = " + bookingDto.getItemId() + " не доступна для бронирования");
+        }
+
+        Booking booking = BookingMapper.toBooking(bookingDto, item, booker);
+
+        if (repository.existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(
+                item.getId(), BLOCKING_STATUSES, booking.getEnd(), booking.getStart())) {
+            throw new NotAvailableException("Вещь с id = " + item.getId() + " уже забронирована на пересекающийся период");
+        }
+
+        Booking created = repository.save(booking);
+        eventRepository.save(BookingMapper.toBookingEvent(
+                created.getId(), item.getId(), BookingEventType.CREATED, DateTimeUtils.toUTC(LocalDateTime.now())));
+        itemBookingSummaryService.refresh(List.of(item.getId()));
+
+        return BookingMapper.toBookingDto(created);
+    }
+
+    private BookingDto doApprove(Long userId, Long itemId, Long bookingId, Boolean approved) {
+        // Строка вещи блокируется до бронирования: так же, как при создании, чтобы пересчёт сводки
+        // не пересекался с другими экземплярами сервера и блокировки брались в одном порядке
+        itemRepository.findWithLockById(itemId);
+        Booking booking = findByIdOrThrow(bookingId);
+        if (!booking.getItem().getOwner().getId().equals(userId)) {
+            throw new LackOfRightsException(
+                    String.format("Пользователь с ID %d не является владельцем вещи с ID %d", userId, booking.getItem().getId())
+            );
+        }
+        if (booking.getStatus() == BookingStatus.EXPIRED) {
+            throw new NotAvailableException("Бронирование с id = " + bookingId + " истекло без ответа владельца");
+        }
+        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        Booking saved = repository.save(booking);
+        eventRepository.save(BookingMapper.toBookingEvent(bookingId, booking.getItem().getId(),
+                getDecisionEventType(approved), DateTimeUtils.toUTC(LocalDateTime.now())));
+        itemBookingSummaryService.refresh(List.of(booking.getItem().getId()));
+        return BookingMapper.toBookingDto(saved);
+    }
+
+    private BookingEventType getDecisionEventType(boolean approved) {
+        return approved ? BookingEventType.APPROVED : BookingEventType.REJECTED;
     }
 
     private Booking findByIdOrThrow(Long bookingId) {
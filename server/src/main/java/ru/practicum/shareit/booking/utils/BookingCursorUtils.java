@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking.utils;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.core.error.exception.NotValidException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Кодирует позицию в списке бронирований, отсортированном по (start DESC, id DESC),
+ * в непрозрачный курсор и обратно.
+ */
+@UtilityClass
+public class BookingCursorUtils {
+
+    public String encode(Booking booking) {
+        // Колонки TIMESTAMP хранят микросекунды: иначе курсор от ещё не перечитанной сущности
+        // оказался бы «позже» своей же строки в БД, и она попала бы на следующую страницу
+        Instant start = booking.getStart().truncatedTo(ChronoUnit.MICROS);
+        String position = start.getEpochSecond() + "." + start.getNano() + ":" + booking.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ScrollPosition decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idSeparator = position.indexOf(':');
+            int nanoSeparator = position.indexOf('.');
+
+            Instant start = Instant.ofEpochSecond(
+                    Long.parseLong(position.substring(0, nanoSeparator)),
+                    Long.parseLong(position.substring(nanoSeparator + 1, idSeparator))
+            );
+            Long id = Long.parseLong(position.substring(idSeparator + 1));
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("start", start);
+            keys.put("id", id);
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new NotValidException("Некорректный курсор " + cursor);
+        }
+    }
+}
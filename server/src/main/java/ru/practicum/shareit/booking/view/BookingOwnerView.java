@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.view;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+public interface BookingOwnerView {
+    Long getId();
+
+    Long getItemId();
+
+    Long getOwnerId();
+
+    BookingStatus getStatus();
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.view;
+
+import java.time.Instant;
+
+public interface BookingSummaryView {
+    Long getItemId();
+
+    Instant getLastBookingEnd();
+
+    Instant getNextBookingStart();
+
+    Instant getCurrentBookingEnd();
+
+    Long getActiveBookingId();
+}
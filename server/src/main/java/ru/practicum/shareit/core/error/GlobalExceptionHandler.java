@@ -1,5 +1,9 @@
 package ru.practicum.shareit.core.error;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.spi.TemplatedViolatedConstraintNameExtractor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.ObjectError;
@@ -12,10 +16,13 @@ import ru.practicum.shareit.core.error.exception.DuplicateDataException;
 import ru.practicum.shareit.core.error.exception.LackOfRightsException;
 import ru.practicum.shareit.core.error.exception.NotAvailableException;
 import ru.practicum.shareit.core.error.exception.NotFoundException;
+import ru.practicum.shareit.core.error.exception.NotValidException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String BOOKING_OVERLAP_CONSTRAINT = "ex_bookings_item_id_period";
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleInvalidInput(MethodArgumentNotValidException ex) {
         ObjectError error = ex.getBindingResult().getAllErrors().getFirst();
@@ -45,11 +52,33 @@ public class GlobalExceptionHandler {
         return getResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(NotValidException.class)
+    public ResponseEntity<ErrorResponse> handleNotValid(NotValidException ex) {
+        return getResponseEntity(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(DuplicateDataException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateData(DuplicateDataException ex) {
         return getResponseEntity(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    /**
+     * 409 — только для пересечения бронирований, которое отсекло ограничение {@value #BOOKING_OVERLAP_CONSTRAINT}.
+     * Остальные нарушения целостности — ошибки сервера и обрабатываются как прочие исключения.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (BOOKING_OVERLAP_CONSTRAINT.equalsIgnoreCase(getViolatedConstraint(ex))) {
+            return getResponseEntity("Вещь уже забронирована на это время", HttpStatus.CONFLICT);
+        }
+        return handleOthers(ex);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return getResponseEntity("Данные были изменены другим запросом, повторите попытку", HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFound(NotFoundException ex) {
         return getResponseEntity(ex.getMessage(), HttpStatus.NOT_FOUND);
@@ -65,6 +94,21 @@ public class GlobalExceptionHandler {
         return getResponseEntity(ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Для ограничений-исключений диалект PostgreSQL в Hibernate имя не извлекает,
+     * поэтому оно берётся из сообщения драйвера.
+     */
+    private static String getViolatedConstraint(DataIntegrityViolationException ex) {
+        if (!(ex.getCause() instanceof ConstraintViolationException violation)) {
+            return null;
+        }
+        if (violation.getConstraintName() != null) {
+            return violation.getConstraintName();
+        }
+        return TemplatedViolatedConstraintNameExtractor.extractUsingTemplate(
+                "violates exclusion constraint \"", "\"", violation.getSQLException().getMessage());
+    }
+
     private ResponseEntity<ErrorResponse> getResponseEntity(String message, HttpStatus httpStatus) {
         ErrorResponse errorResponse = new ErrorResponse(message, httpStatus.value());
         return new ResponseEntity<>(errorResponse, httpStatus);
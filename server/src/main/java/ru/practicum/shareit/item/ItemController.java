@@ -4,7 +4,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.enums.SearchMode;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.util.List;
@@ -18,21 +20,34 @@ public class ItemController {
     private final ItemService itemService;
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<FullItemDto> getAllByOwner(@RequestHeader(value = X_SHARER_USER_ID) Long userId) {
+    public List<FullItemDto> getAllByOwner(@RequestHeader(value = X_SHARER_USER_ID) Long userId, WebRequest request) {
+        String etag = itemService.getAllByOwnerTag(userId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         return itemService.getAllByOwner(userId);
     }
 
     @GetMapping("/{itemId}")
-    @ResponseStatus(HttpStatus.OK)
-    public FullItemDto getById(@PathVariable Long itemId) {
-        return itemService.getById(itemId);
+    public FullItemDto getById(@RequestHeader(value = X_SHARER_USER_ID, required = false) Long userId,
+                               @PathVariable Long itemId,
+                               WebRequest request) {
+        String etag = itemService.getByIdTag(userId, itemId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        return itemService.getById(userId, itemId);
     }
 
     @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
-    public List<ItemDto> searchAll(@RequestParam String text) {
-        return itemService.searchAll(text);
+    public List<ItemDto> searchAll(
+            @RequestParam String text,
+            @RequestParam(name = "mode", defaultValue = "SUBSTRING") String mode,
+            @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @RequestParam(name = "size", defaultValue = "10") Integer size
+    ) {
+        return itemService.searchAll(text, getSearchMode(mode), from, size);
     }
 
     @PostMapping
@@ -44,6 +59,15 @@ public class ItemController {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BatchItemResultDto> createAll(
+            @RequestHeader(value = X_SHARER_USER_ID) Long userId,
+            @RequestBody List<ItemDto> itemDtos
+    ) {
+        return itemService.createAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     @ResponseStatus(HttpStatus.OK)
     public ItemDto update(
@@ -64,4 +88,9 @@ public class ItemController {
         return itemService.addComment(userId, itemId, commentDto);
     }
 
+    private SearchMode getSearchMode(String mode) {
+        SearchMode searchMode = SearchMode.fromString(mode);
+        return searchMode == null ? SearchMode.SUBSTRING : searchMode;
+    }
+
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dao;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    List<ItemBookingSummary> findAllByRefreshAtLessThanOrderByRefreshAt(Instant now, Limit limit);
+
+    boolean existsByItemIdAndRefreshAtLessThan(Long itemId, Instant now);
+
+    @Query("SELECT COUNT(s) > 0 FROM ItemBookingSummary s " +
+            "WHERE s.refreshAt < :now AND s.itemId IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)")
+    boolean existsStaleByOwnerId(@Param("ownerId") Long ownerId, @Param("now") Instant now);
+
+}
@@ -1,21 +1,86 @@
 package ru.practicum.shareit.item.dao;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.view.ItemWithBookingSummary;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Item> findWithLockById(Long id);
+
+    /**
+     * Блокирует строки вещей в порядке идентификаторов: транзакции, захватывающие несколько вещей,
+     * берут блокировки в одном порядке и не ждут друг друга по кругу.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Item> findAllWithLockByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * Как {@link #findAllWithLockByIdInOrderByIdAsc}, но вещи, заблокированные другой транзакцией,
+     * пропускаются ({@code SKIP LOCKED}) и не попадают в результат.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<Item> findAllWithSkipLockedByIdInOrderByIdAsc(Collection<Long> ids);
+
     List<Item> findAllByOwner_Id(long ownerId);
 
+    @Query("SELECT new ru.practicum.shareit.item.view.ItemWithBookingSummary(i, s) FROM Item i " +
+            "LEFT JOIN ItemBookingSummary s ON s.itemId = i.id " +
+            "WHERE i.owner.id = :ownerId")
+    List<ItemWithBookingSummary> findAllWithBookingSummaryByOwnerId(@Param("ownerId") Long ownerId);
+
     List<Item> findAllByRequest_IdIn(List<Long> requestIds);
 
+    @Query("SELECT DISTINCT i.owner.id FROM Item i WHERE i.id IN :itemIds")
+    List<Long> findOwnerIdsByIdIn(@Param("itemIds") Collection<Long> itemIds);
+
     @Query("SELECT i from Item i WHERE i.available = true AND (" +
             "LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
             "LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))" +
-            ")")
-    List<Item> searchAllByText(String text);
+            ") ORDER BY i.id LIMIT :size OFFSET :from")
+    List<Item> searchAllByText(@Param("text") String text, @Param("from") int from, @Param("size") int size);
+
+    @Query(value = "SELECT i.id FROM items AS i " +
+            "WHERE i.is_available = true " +
+            "  AND to_tsvector('russian', i.name || ' ' || i.description) @@ plainto_tsquery('russian', :text) " +
+            "ORDER BY ts_rank(to_tsvector('russian', i.name || ' ' || i.description), " +
+            "                 plainto_tsquery('russian', :text)) DESC, i.id " +
+            "LIMIT :size OFFSET :from", nativeQuery = true)
+    List<Long> searchIdsByFullText(@Param("text") String text, @Param("from") int from, @Param("size") int size);
+
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)", nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") String threshold);
+
+    /**
+     * Вещи, в которых для каждого из {@code wordCount} слов {@code words} (через пробел) есть похожее слово,
+     * по возрастанию суммарного расстояния {@code <<->}. Кандидатов отбирает индекс по слову {@code indexedWord}.
+     */
+    @Query(value = "SELECT i.id FROM items AS i " +
+            "CROSS JOIN LATERAL (" +
+            "  SELECT count(*) AS matched, sum(w <<-> (i.name || ' ' || i.description)) AS distance " +
+            "  FROM unnest(string_to_array(:words, ' ')) AS w " +
+            "  WHERE w <% (i.name || ' ' || i.description)" +
+            ") AS m " +
+            "WHERE i.is_available = true " +
+            "  AND :indexedWord <% (i.name || ' ' || i.description) " +
+            "  AND m.matched = :wordCount " +
+            "ORDER BY m.distance, i.id " +
+            "LIMIT :size OFFSET :from", nativeQuery = true)
+    List<Long> searchIdsByTrigrams(@Param("words") String words, @Param("wordCount") int wordCount,
+                                   @Param("indexedWord") String indexedWord,
+                                   @Param("from") int from, @Param("size") int size);
 
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Data;
+
+/**
+ * Результат создания одной вещи из пакета. {@code index} — позиция вещи в запросе;
+ * заполнено либо {@code item}, либо {@code error}.
+ */
+@Data
+public class BatchItemResultDto {
+    private final int index;
+    private final ItemDto item;
+    private final String error;
+
+    public static BatchItemResultDto created(int index, ItemDto item) {
+        return new BatchItemResultDto(index, item, null);
+    }
+
+    public static BatchItemResultDto failed(int index, String error) {
+        return new BatchItemResultDto(index, null, error);
+    }
+}
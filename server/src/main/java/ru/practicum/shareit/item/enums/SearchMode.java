@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.enums;
+
+import ru.practicum.shareit.core.error.exception.NotValidException;
+
+public enum SearchMode {
+    SUBSTRING,
+    FULL_TEXT,
+    FUZZY;
+
+    public static SearchMode fromString(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return SearchMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new NotValidException("Режим поиска не может быть равен " + value);
+        }
+    }
+}
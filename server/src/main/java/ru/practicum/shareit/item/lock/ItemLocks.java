@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.lock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.share.lock.StripedLocks;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Сериализует изменения, затрагивающие одну вещь, в пределах экземпляра сервера.
+ * Блокировка берётся до начала транзакции: потоки, ждущие популярную вещь, не занимают
+ * соединения пула, и запросы к остальным вещам не простаивают из-за неё.
+ */
+@Component
+public class ItemLocks {
+    private final StripedLocks locks;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ItemLocks(@Value("${shareit.item.lock-stripes:64}") int stripes,
+                     PlatformTransactionManager transactionManager) {
+        this.locks = new StripedLocks(stripes);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Выполняет действие в транзакции, удерживая блокировку вещи до её завершения.
+     * Если транзакция уже открыта вызывающим кодом, действие присоединяется к ней,
+     * и тогда блокировка снимается раньше её фиксации.
+     */
+    public <T> T executeLocked(Long itemId, Supplier<T> action) {
+        Lock lock = locks.get(itemId);
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> action.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Сводка бронирований вещи, рассчитанная на определённый момент.
+ * Она остаётся верной, пока текущее время не прошло {@code refreshAt}: в этот момент начинается следующее
+ * бронирование или заканчивается текущее. {@code refreshAt = null} означает, что таких событий не ожидается.
+ */
+@Entity
+@Table(name = "item_booking_summary")
+@Getter
+@Setter
+@ToString
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "last_booking_end")
+    private Instant lastBookingEnd;
+
+    @Column(name = "next_booking_start")
+    private Instant nextBookingStart;
+
+    @Column(name = "active_booking_id")
+    private Long activeBookingId;
+
+    @Column(name = "refresh_at")
+    private Instant refreshAt;
+
+    public boolean isStaleAt(Instant now) {
+        return refreshAt != null && refreshAt.isBefore(now);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск доступных вещей по названию и описанию.
+ * Возвращает идентификаторы вещей, упорядоченные по убыванию релевантности.
+ */
+public interface FullTextItemSearch {
+
+    List<Long> search(String text, int from, int size);
+
+    /**
+     * Обновляет поисковый индекс после создания или изменения вещи. Вызывается после фиксации транзакции,
+     * чтобы поиск не находил вещи и изменения, которых после отката нет в базе.
+     * Реализации, индекс которых поддерживает база данных, ничего не делают.
+     */
+    default void index(Item item) {
+    }
+}
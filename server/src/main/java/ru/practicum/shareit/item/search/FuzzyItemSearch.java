@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Нечёткий поиск доступных вещей с опечатками: для каждого слова запроса в названии или описании
+ * вещи должно найтись похожее слово. Возвращает идентификаторы вещей, самые похожие первыми.
+ */
+public interface FuzzyItemSearch {
+
+    List<Long> search(String text, int from, int size);
+
+    /**
+     * Обновляет поисковый индекс после создания или изменения вещи. Вызывается после фиксации транзакции,
+     * чтобы поиск не находил вещи и изменения, которых после отката нет в базе.
+     * Реализации, индекс которых поддерживает база данных, ничего не делают.
+     */
+    default void index(Item item) {
+    }
+}
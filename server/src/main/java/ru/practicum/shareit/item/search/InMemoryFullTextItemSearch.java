@@ -0,0 +1,147 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.utils.ItemSearchUtils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс в памяти приложения. Используется вместо {@code tsvector} там,
+ * где база данных не поддерживает полнотекстовый поиск (H2 в тестовом профиле).
+ * Ранжирование по сумме tf-idf слов запроса, в выдачу попадают вещи, содержащие все слова.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.full-text-engine", havingValue = "memory")
+public class InMemoryFullTextItemSearch implements FullTextItemSearch {
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedItem> indexedItems = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Item> items = itemRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            indexedItems.clear();
+            items.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Изменения вещи индексируются после фиксации транзакции, поэтому могут прийти не по порядку:
+     * версия, которая старше уже проиндексированной, пропускается.
+     */
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem indexed = indexedItems.get(item.getId());
+            if (indexed != null && indexed.version() > versionOf(item)) {
+                return;
+            }
+            remove(item.getId());
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        Set<String> terms = new LinkedHashSet<>(ItemSearchUtils.tokenize(text));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> itemFrequencies = postings.get(term);
+                if (itemFrequencies == null) {
+                    return List.of();
+                }
+                termPostings.add(itemFrequencies);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int totalItems = indexedItems.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (Long itemId : termPostings.getFirst().keySet()) {
+                if (!indexedItems.get(itemId).available()) {
+                    continue;
+                }
+                double score = 0;
+                for (Map<Long, Integer> itemFrequencies : termPostings) {
+                    Integer frequency = itemFrequencies.get(itemId);
+                    if (frequency == null) {
+                        score = -1;
+                        break;
+                    }
+                    score += frequency * Math.log(1 + (double) totalItems / itemFrequencies.size());
+                }
+                if (score >= 0) {
+                    scores.put(itemId, score);
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(from)
+                    .limit(size)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Item item) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        ItemSearchUtils.tokenize(item.getName() + " " + item.getDescription())
+                .forEach(term -> frequencies.merge(term, 1, Integer::sum));
+
+        frequencies.forEach((term, frequency) -> postings
+                .computeIfAbsent(term, k -> new HashMap<>())
+                .put(item.getId(), frequency));
+        indexedItems.put(item.getId(),
+                new IndexedItem(frequencies.keySet(), Boolean.TRUE.equals(item.getAvailable()), versionOf(item)));
+    }
+
+    private long versionOf(Item item) {
+        return item.getVersion() == null ? 0 : item.getVersion();
+    }
+
+    private void remove(Long itemId) {
+        IndexedItem indexed = indexedItems.remove(itemId);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.terms()) {
+            Map<Long, Integer> itemFrequencies = postings.get(term);
+            itemFrequencies.remove(itemId);
+            if (itemFrequencies.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private record IndexedItem(Set<String> terms, boolean available, long version) {
+    }
+}
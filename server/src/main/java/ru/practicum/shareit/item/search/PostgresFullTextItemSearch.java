@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск по GIN-индексу {@code tsvector} в PostgreSQL, ранжирование через {@code ts_rank}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.full-text-engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresFullTextItemSearch implements FullTextItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        return itemRepository.searchIdsByFullText(text, from, size);
+    }
+}
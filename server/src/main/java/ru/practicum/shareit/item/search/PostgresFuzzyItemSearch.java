@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.utils.ItemSearchUtils;
+
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Поиск по GIN-индексу триграмм {@code pg_trgm} в PostgreSQL. Индекс общий для всех экземпляров сервера
+ * и обновляется вместе с таблицей. Слово запроса считается найденным, если {@code word_similarity}
+ * с названием и описанием вещи не меньше порога; индекс отбирает кандидатов по самому длинному слову.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.fuzzy.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresFuzzyItemSearch implements FuzzyItemSearch {
+    private final ItemRepository itemRepository;
+    private final String similarityThreshold;
+
+    @Autowired
+    public PostgresFuzzyItemSearch(
+            ItemRepository itemRepository,
+            @Value("${shareit.search.fuzzy.similarity-threshold:0.5}") double similarityThreshold
+    ) {
+        if (similarityThreshold <= 0 || similarityThreshold > 1) {
+            throw new IllegalArgumentException("Порог похожести слов должен быть в диапазоне (0, 1]: "
+                    + similarityThreshold);
+        }
+        this.itemRepository = itemRepository;
+        this.similarityThreshold = Double.toString(similarityThreshold);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> search(String text, int from, int size) {
+        Set<String> words = new LinkedHashSet<>(ItemSearchUtils.tokenize(text));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        String longestWord = words.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        // Порог действует до конца транзакции и нужен индексу, поэтому задаётся настройкой, а не условием запроса
+        itemRepository.setWordSimilarityThreshold(similarityThreshold);
+        return itemRepository.searchIdsByTrigrams(String.join(" ", words), words.size(), longestWord, from, size);
+    }
+}
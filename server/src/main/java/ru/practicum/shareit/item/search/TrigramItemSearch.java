@@ -0,0 +1,190 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.utils.ItemSearchUtils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Нечёткий поиск вещей с опечатками. Словарь слов из названий и описаний индексируется по триграммам:
+ * кандидаты отбираются по числу общих триграмм, а затем проверяются расстоянием Левенштейна,
+ * поэтому запрос не просматривает весь каталог.
+ * Для слова длины n допускается не более min(maxDistance, n / 3) правок. Одна правка портит
+ * не больше трёх триграмм, так что у подходящего слова не меньше (n + 2) - 3 * k общих триграмм с запросом.
+ * Индекс живёт в памяти экземпляра сервера и видит только изменения, прошедшие через этот экземпляр,
+ * поэтому используется там, где сервер один и в базе нет {@code pg_trgm} (H2 в тестовом профиле).
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.fuzzy.engine", havingValue = "memory")
+public class TrigramItemSearch implements FuzzyItemSearch {
+    private final ItemRepository itemRepository;
+    private final int maxDistance;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+    private final Map<String, Set<Long>> itemsByWord = new HashMap<>();
+    private final Map<Long, IndexedItem> indexedItems = new HashMap<>();
+
+    @Autowired
+    public TrigramItemSearch(
+            ItemRepository itemRepository,
+            @Value("${shareit.search.fuzzy.max-distance:2}") int maxDistance
+    ) {
+        this.itemRepository = itemRepository;
+        this.maxDistance = maxDistance;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Item> items = itemRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            wordsByTrigram.clear();
+            itemsByWord.clear();
+            indexedItems.clear();
+            items.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Изменения вещи индексируются после фиксации транзакции, поэтому могут прийти не по порядку:
+     * версия, которая старше уже проиндексированной, пропускается.
+     */
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem indexed = indexedItems.get(item.getId());
+            if (indexed != null && indexed.version() > versionOf(item)) {
+                return;
+            }
+            remove(item.getId());
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ищет доступные вещи, в которых для каждого слова запроса есть похожее слово.
+     *
+     * @return идентификаторы вещей по возрастанию суммарного числа правок
+     */
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        Set<String> queryWords = new LinkedHashSet<>(ItemSearchUtils.tokenize(text));
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> distances = null;
+            for (String queryWord : queryWords) {
+                Map<Long, Integer> wordDistances = findItemDistances(queryWord);
+                if (distances == null) {
+                    distances = wordDistances;
+                } else {
+                    distances.keySet().retainAll(wordDistances.keySet());
+                    distances.replaceAll((itemId, distance) -> distance + wordDistances.get(itemId));
+                }
+                if (distances.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return distances.entrySet().stream()
+                    .filter(entry -> indexedItems.get(entry.getKey()).available())
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(from)
+                    .limit(size)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> findItemDistances(String queryWord) {
+        int allowedDistance = Math.min(maxDistance, queryWord.length() / 3);
+        Set<String> queryTrigrams = ItemSearchUtils.trigrams(queryWord);
+        int minSharedTrigrams = queryTrigrams.size() - 3 * allowedDistance;
+
+        Map<String, Integer> sharedTrigrams = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (String word : wordsByTrigram.getOrDefault(trigram, Collections.emptySet())) {
+                sharedTrigrams.merge(word, 1, Integer::sum);
+            }
+        }
+
+        Map<Long, Integer> itemDistances = new HashMap<>();
+        sharedTrigrams.forEach((word, shared) -> {
+            if (shared < minSharedTrigrams) {
+                return;
+            }
+            int distance = ItemSearchUtils.levenshtein(queryWord, word, allowedDistance);
+            if (distance > allowedDistance) {
+                return;
+            }
+            for (Long itemId : itemsByWord.get(word)) {
+                itemDistances.merge(itemId, distance, Math::min);
+            }
+        });
+        return itemDistances;
+    }
+
+    private void put(Item item) {
+        Set<String> words = new HashSet<>(ItemSearchUtils.tokenize(item.getName() + " " + item.getDescription()));
+        for (String word : words) {
+            Set<Long> wordItems = itemsByWord.computeIfAbsent(word, k -> new HashSet<>());
+            if (wordItems.isEmpty()) {
+                ItemSearchUtils.trigrams(word).forEach(trigram -> wordsByTrigram
+                        .computeIfAbsent(trigram, k -> new HashSet<>())
+                        .add(word));
+            }
+            wordItems.add(item.getId());
+        }
+        indexedItems.put(item.getId(), new IndexedItem(words, Boolean.TRUE.equals(item.getAvailable()), versionOf(item)));
+    }
+
+    private long versionOf(Item item) {
+        return item.getVersion() == null ? 0 : item.getVersion();
+    }
+
+    private void remove(Long itemId) {
+        IndexedItem indexed = indexedItems.remove(itemId);
+        if (indexed == null) {
+            return;
+        }
+        for (String word : indexed.words()) {
+            Set<Long> wordItems = itemsByWord.get(word);
+            wordItems.remove(itemId);
+            if (wordItems.isEmpty()) {
+                itemsByWord.remove(word);
+                for (String trigram : ItemSearchUtils.trigrams(word)) {
+                    Set<String> trigramWords = wordsByTrigram.get(trigram);
+                    trigramWords.remove(word);
+                    if (trigramWords.isEmpty()) {
+                        wordsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private record IndexedItem(Set<String> words, boolean available, long version) {
+    }
+}
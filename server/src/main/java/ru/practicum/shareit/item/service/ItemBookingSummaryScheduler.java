@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Сдвигает сводки бронирований вперёд по мере того, как бронирования начинаются и заканчиваются.
+ * Чтение не зависит от того, успел ли отработать планировщик: устаревшие сводки пересчитываются на лету.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaryScheduler {
+    private final ItemBookingSummaryService summaryService;
+
+    @Scheduled(fixedDelayString = "${shareit.item.booking-summary.refresh-interval:PT1M}")
+    public void rollForward() {
+        // Пересчитанная сводка действует строго дольше момента расчёта, поэтому цикл конечен
+        int refreshed;
+        do {
+            refreshed = summaryService.refreshStale();
+        } while (refreshed > 0);
+    }
+}
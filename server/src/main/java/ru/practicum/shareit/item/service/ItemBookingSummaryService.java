@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+
+public interface ItemBookingSummaryService {
+
+    /**
+     * Рассчитывает сводки на момент {@code now} без сохранения. Вещи без бронирований получают пустую сводку.
+     */
+    Map<Long, ItemBookingSummary> compute(Collection<Long> itemIds, Instant now);
+
+    /**
+     * Пересчитывает и сохраняет сводки вещей. Вызывающий код должен удерживать блокировку строк этих вещей
+     * ({@code ItemRepository.findWithLockById} или {@code findAllWithLockByIdInOrderByIdAsc}): без неё расчёт
+     * может прочитать бронирования до фиксации параллельного изменения и сохранить устаревшую сводку.
+     */
+    void refresh(Collection<Long> itemIds);
+
+    /**
+     * Создаёт пустые сводки только что сохранённых вещей: бронирований у них ещё нет, поэтому
+     * сводки вставляются без чтения бронирований и без проверки существующих строк.
+     */
+    void initialize(Collection<Long> itemIds);
+
+    /**
+     * Пересчитывает очередную порцию сводок, срок действия которых истёк. Вещи, строки которых сейчас
+     * заблокированы бронированием или подтверждением, пропускаются до следующего запуска.
+     *
+     * @return количество пересчитанных сводок
+     */
+    int refreshStale();
+}
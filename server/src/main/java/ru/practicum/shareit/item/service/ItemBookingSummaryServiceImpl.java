@@ -0,0 +1,144 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.view.BookingSummaryView;
+import ru.practicum.shareit.item.dao.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.share.etag.VersionTags;
+import ru.practicum.shareit.share.util.DateTimeUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    private final BookingRepository bookingRepository;
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final VersionTags versionTags;
+    private final int batchSize;
+
+    @Autowired
+    public ItemBookingSummaryServiceImpl(BookingRepository bookingRepository,
+                                         ItemBookingSummaryRepository summaryRepository,
+                                         ItemRepository itemRepository,
+                                         EntityManager entityManager,
+                                         VersionTags versionTags,
+                                         @Value("${shareit.item.booking-summary.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.summaryRepository = summaryRepository;
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        this.versionTags = versionTags;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Map<Long, ItemBookingSummary> compute(Collection<Long> itemIds, Instant now) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, BookingSummaryView> views = bookingRepository.findBookingSummariesByItemIds(itemIds, now).stream()
+                .collect(Collectors.toMap(BookingSummaryView::getItemId, Function.identity()));
+
+        Map<Long, ItemBookingSummary> summaries = new LinkedHashMap<>();
+        for (Long itemId : itemIds) {
+            summaries.put(itemId, toSummary(itemId, views.get(itemId)));
+        }
+        return summaries;
+    }
+
+    @Override
+    @Transactional
+    public void refresh(Collection<Long> itemIds) {
+        summaryRepository.saveAll(compute(itemIds, DateTimeUtils.toUTC(LocalDateTime.now())).values());
+        incrementVersions(itemIds);
+    }
+
+    @Override
+    @Transactional
+    public void initialize(Collection<Long> itemIds) {
+        // saveAll выполнил бы merge и прочитал каждую сводку перед вставкой
+        itemIds.forEach(itemId -> entityManager.persist(toSummary(itemId, null)));
+    }
+
+    @Override
+    @Transactional
+    public int refreshStale() {
+        Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
+        List<Long> staleIds = summaryRepository.findAllByRefreshAtLessThanOrderByRefreshAt(nowUtc, Limit.of(batchSize))
+                .stream()
+                .map(ItemBookingSummary::getItemId)
+                .toList();
+        if (staleIds.isEmpty()) {
+            return 0;
+        }
+
+        // Пересчёт без блокировки вещи мог бы прочитать бронирования до фиксации параллельного бронирования
+        // и затереть его свежую сводку. Занятые вещи пропускаются: их сводку пересчитывает сама операция
+        List<Long> itemIds = itemRepository.findAllWithSkipLockedByIdInOrderByIdAsc(staleIds).stream()
+                .map(Item::getId)
+                .toList();
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+
+        summaryRepository.saveAll(compute(itemIds, nowUtc).values());
+        incrementVersions(itemIds);
+        return itemIds.size();
+    }
+
+    /**
+     * Новая сводка меняет даты бронирований, которые видит владелец, поэтому меняются и ETag его ответов.
+     */
+    private void incrementVersions(Collection<Long> itemIds) {
+        List<String> keys = new ArrayList<>();
+        itemIds.forEach(itemId -> keys.add(VersionTags.item(itemId)));
+        itemRepository.findOwnerIdsByIdIn(itemIds).forEach(ownerId -> keys.add(VersionTags.ownerItems(ownerId)));
+        versionTags.incrementAfterCompletion(keys.toArray(String[]::new));
+    }
+
+    private ItemBookingSummary toSummary(Long itemId, BookingSummaryView view) {
+        ItemBookingSummary summary = new ItemBookingSummary();
+        summary.setItemId(itemId);
+        if (view == null) {
+            return summary;
+        }
+
+        summary.setLastBookingEnd(view.getLastBookingEnd());
+        summary.setNextBookingStart(view.getNextBookingStart());
+        summary.setActiveBookingId(view.getActiveBookingId());
+        // Сводка меняется, когда начинается следующее бронирование или заканчивается текущее
+        summary.setRefreshAt(min(view.getNextBookingStart(), view.getCurrentBookingEnd()));
+        return summary;
+    }
+
+    private Instant min(Instant first, Instant second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return first.isBefore(second) ? first : second;
+    }
+}
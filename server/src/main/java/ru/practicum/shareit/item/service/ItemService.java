@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.enums.SearchMode;
 
 import java.util.List;
 
@@ -8,12 +9,32 @@ public interface ItemService {
 
     List<FullItemDto> getAllByOwner(Long ownerId);
 
-    FullItemDto getById(Long itemId);
+    /**
+     * ETag ответа {@link #getAllByOwner}. Возвращает {@code null}, если у какой-то из вещей владельца истёк срок
+     * сводки бронирований: до её пересчёта ответ нельзя подтвердить без чтения данных.
+     */
+    String getAllByOwnerTag(Long ownerId);
 
-    List<ItemDto> searchAll(String text);
+    /**
+     * Возвращает вещь. Даты последнего и следующего бронирования заполняются только для владельца.
+     */
+    FullItemDto getById(Long userId, Long itemId);
+
+    /**
+     * ETag ответа {@link #getById}. Возвращает {@code null}, если вещи нет или её сводка бронирований устарела.
+     */
+    String getByIdTag(Long userId, Long itemId);
+
+    List<ItemDto> searchAll(String text, SearchMode mode, int from, int size);
 
     ItemDto create(Long ownerId, ItemDto itemDto);
 
+    /**
+     * Создаёт вещи одним пакетом вставок. Вещь со ссылкой на несуществующий запрос не создаётся,
+     * остальные сохраняются; результат возвращается для каждой вещи в порядке запроса.
+     */
+    List<BatchItemResultDto> createAll(Long ownerId, List<ItemDto> itemDtos);
+
     ItemDto update(Long ownerId, Long itemId, UpdateItemDto itemDto);
 
     CommentDto addComment(Long userId, Long itemId, CreateCommentDto commentDto);
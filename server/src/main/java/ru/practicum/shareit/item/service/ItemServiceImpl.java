@@ -2,23 +2,34 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.view.BookingDatesView;
 import ru.practicum.shareit.core.error.exception.LackOfRightsException;
 import ru.practicum.shareit.core.error.exception.NotAvailableException;
 import ru.practicum.shareit.core.error.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemBookingSummaryRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.enums.SearchMode;
+import ru.practicum.shareit.item.lock.ItemLocks;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.search.FullTextItemSearch;
+import ru.practicum.shareit.item.search.FuzzyItemSearch;
 import ru.practicum.shareit.item.utils.ItemUtils;
+import ru.practicum.shareit.item.view.ItemWithBookingSummary;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.share.cache.EntityCacheEvictor;
+import ru.practicum.shareit.share.etag.VersionTags;
 import ru.practicum.shareit.share.util.DateTimeUtils;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
@@ -30,6 +41,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -42,45 +55,90 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRequestRepository itemRequestRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final FullTextItemSearch fullTextItemSearch;
+    private final FuzzyItemSearch fuzzyItemSearch;
+    private final ItemLocks itemLocks;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final VersionTags versionTags;
 
     @Override
     public List<FullItemDto> getAllByOwner(Long ownerId) {
-        List<BookingDatesView> bookingDatesViews = bookingRepository.findLastAndNextBookingDatesByOwnerId(ownerId);
-        Map<Long, BookingDatesView> bookingDateMap = bookingDatesViews.stream()
-                .collect(Collectors.toMap(BookingDatesView::getItemId, Function.identity()));
+        Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
+        List<ItemWithBookingSummary> ownerItems = itemRepository.findAllWithBookingSummaryByOwnerId(ownerId);
 
-        List<Item> ownerItems = itemRepository.findAllByOwner_Id(ownerId);
+        // Сводки, которые планировщик ещё не сдвинул, пересчитываются на лету только для своих вещей
+        List<Long> staleItemIds = ownerItems.stream()
+                .filter(ownerItem -> ownerItem.getSummary() == null || ownerItem.getSummary().isStaleAt(nowUtc))
+                .map(ownerItem -> ownerItem.getItem().getId())
+                .toList();
+        Map<Long, ItemBookingSummary> recomputed = itemBookingSummaryService.compute(staleItemIds, nowUtc);
 
-        Map<Long, List<Comment>> commentsMap = findCommentsByItems(ownerItems);
+        List<Item> items = ownerItems.stream().map(ItemWithBookingSummary::getItem).toList();
+        Map<Long, List<Comment>> commentsMap = findCommentsByItems(items);
 
-        return ownerItems.stream().map(item -> {
-            BookingDatesView bookingDatesView = bookingDateMap.get(item.getId());
+        return ownerItems.stream().map(ownerItem -> {
+            Item item = ownerItem.getItem();
+            ItemBookingSummary summary = recomputed.getOrDefault(item.getId(), ownerItem.getSummary());
             List<Comment> itemComments = commentsMap.getOrDefault(item.getId(), Collections.emptyList());
 
-            Instant lastBookingDate = (bookingDatesView != null) ? bookingDatesView.getLastBooking() : null;
-            Instant nextBookingDate = (bookingDatesView != null) ? bookingDatesView.getNextBooking() : null;
-
-            return ItemMapper.toFullItemDto(item, lastBookingDate, nextBookingDate, itemComments);
+            return ItemMapper.toFullItemDto(item, summary.getLastBookingEnd(), summary.getNextBookingStart(), itemComments);
         }).collect(Collectors.toList());
     }
 
     @Override
-    public FullItemDto getById(Long itemId) {
+    public String getAllByOwnerTag(Long ownerId) {
+        String tag = versionTags.tag("owner-items", VersionTags.ownerItems(ownerId), VersionTags.USER_NAMES);
+        Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
+        return itemBookingSummaryRepository.existsStaleByOwnerId(ownerId, nowUtc) ? null : tag;
+    }
+
+    @Override
+    public FullItemDto getById(Long userId, Long itemId) {
         return itemRepository.findById(itemId)
                 .map(item -> {
                     List<Comment> comments = commentRepository.findAllByItem_IdIn(Collections.singletonList(itemId));
-                    return ItemMapper.toFullItemDto(item, null, null, comments);
+                    if (!item.getOwner().getId().equals(userId)) {
+                        return ItemMapper.toFullItemDto(item, null, null, comments);
+                    }
+
+                    Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
+                    Instant lastBooking = bookingRepository.findLastBookingEndByItemId(itemId, nowUtc).orElse(null);
+                    Instant nextBooking = bookingRepository.findNextBookingStartByItemId(itemId, nowUtc).orElse(null);
+                    return ItemMapper.toFullItemDto(item, lastBooking, nextBooking, comments);
                 })
                 .orElseThrow(() -> new NotFoundException("Вещь с id = " + itemId + " не найдена"));
     }
 
     @Override
-    public List<ItemDto> searchAll(String text) {
+    public String getByIdTag(Long userId, Long itemId) {
+        return itemRepository.findById(itemId)
+                .map(item -> {
+                    if (!item.getOwner().getId().equals(userId)) {
+                        return versionTags.tag("item", VersionTags.item(itemId), VersionTags.USER_NAMES);
+                    }
+
+                    String tag = versionTags.tag("owner-item", VersionTags.item(itemId), VersionTags.USER_NAMES);
+                    Instant nowUtc = DateTimeUtils.toUTC(LocalDateTime.now());
+                    return itemBookingSummaryRepository.existsByItemIdAndRefreshAtLessThan(itemId, nowUtc) ? null : tag;
+                })
+                .orElse(null);
+    }
+
+    @Override
+    public List<ItemDto> searchAll(String text, SearchMode mode, int from, int size) {
         if (text.isBlank()) {
             return new ArrayList<>();
         }
 
-        return itemRepository.searchAllByText(text).stream()
+        List<Item> items = switch (mode) {
+            case SUBSTRING -> itemRepository.searchAllByText(text, from, size);
+            case FULL_TEXT -> findAllByIdsInOrder(fullTextItemSearch.search(text, from, size));
+            case FUZZY -> findAllByIdsInOrder(fuzzyItemSearch.search(text, from, size));
+        };
+
+        return items.stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
@@ -94,29 +152,69 @@ public class ItemServiceImpl implements ItemService {
         ItemRequest itemRequest = null;
         if (itemDto.getRequestId() != null) {
             itemRequest = itemRequestRepository.findById(itemDto.getRequestId())
-                    .orElseThrow(() -> new NotFoundException("Запрос с id = " + itemDto.getRequestId() + " для вещи не найден"));
+                    .orElseThrow(() -> new NotFoundException(getRequestNotFoundMessage(itemDto.getRequestId())));
         }
 
         Item item = ItemMapper.toItem(itemDto, owner, itemRequest);
 
         Item created = itemRepository.save(item);
+        indexAfterCommit(List.of(created));
+        itemBookingSummaryService.refresh(List.of(created.getId()));
+        versionTags.incrementAfterCompletion(VersionTags.ownerItems(ownerId));
 
         return ItemMapper.toItemDto(created);
     }
 
     @Override
     @Transactional
-    public ItemDto update(Long ownerId, Long itemId, UpdateItemDto itemDto) {
-        Item oldItem = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Вещь с id = " + itemDto.getId() + " не найдена"));
+    public List<BatchItemResultDto> createAll(Long ownerId, List<ItemDto> itemDtos) {
+        User owner = userRepository.findById(ownerId)
+                .orElseThrow(() -> new NotFoundException(UserMessageUtils.getUserNotFountMessage(ownerId)));
 
-        if (!ownerId.equals(oldItem.getOwner().getId())) {
-            throw new LackOfRightsException("Редактировать вещь может только её владелец");
+        // Запросы загружаются одним обращением, а не по одному на вещь
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty()
+                ? Collections.emptyMap()
+                : itemRequestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        BatchItemResultDto[] results = new BatchItemResultDto[itemDtos.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            ItemRequest itemRequest = itemDto.getRequestId() == null ? null : requests.get(itemDto.getRequestId());
+            if (itemDto.getRequestId() != null && itemRequest == null) {
+                results[i] = BatchItemResultDto.failed(i, getRequestNotFoundMessage(itemDto.getRequestId()));
+            } else {
+                indexes.add(i);
+                items.add(ItemMapper.toItem(itemDto, owner, itemRequest));
+            }
+        }
+        if (items.isEmpty()) {
+            return List.of(results);
         }
 
-        Item updated = itemRepository.save(ItemUtils.updateItem(oldItem, itemDto));
+        // Идентификаторы берутся из последовательности, поэтому вставки уходят пачками hibernate.jdbc.batch_size
+        List<Item> created = itemRepository.saveAll(items);
+        indexAfterCommit(created);
+        for (int i = 0; i < created.size(); i++) {
+            Item item = created.get(i);
+            results[indexes.get(i)] = BatchItemResultDto.created(indexes.get(i), ItemMapper.toItemDto(item));
+        }
+        itemBookingSummaryService.initialize(created.stream().map(Item::getId).toList());
+        versionTags.incrementAfterCompletion(VersionTags.ownerItems(ownerId));
 
-        return ItemMapper.toItemDto(updated);
+        return List.of(results);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ItemDto update(Long ownerId, Long itemId, UpdateItemDto itemDto) {
+        return itemLocks.executeLocked(itemId, () -> doUpdate(ownerId, itemId, itemDto));
     }
 
     @Override
@@ -135,9 +233,70 @@ public class ItemServiceImpl implements ItemService {
                         "который брал эту вещь в аренду, и только после окончания срока аренды"));
 
         Comment saved = commentRepository.save(CommentMapper.toComment(commentDto, item, booking.getBooker()));
+        versionTags.incrementAfterCompletion(VersionTags.item(itemId), VersionTags.ownerItems(item.getOwner().getId()));
         return CommentMapper.toCommentDto(saved);
     }
 
+    private ItemDto doUpdate(Long ownerId, Long itemId, UpdateItemDto itemDto) {
+        Item oldItem = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с id = " + itemDto.getId() + " не найдена"));
+
+        if (!ownerId.equals(oldItem.getOwner().getId())) {
+            throw new LackOfRightsException("Редактировать вещь может только её владелец");
+        }
+
+        Item updated = itemRepository.save(ItemUtils.updateItem(oldItem, itemDto));
+        indexAfterCommit(List.of(updated));
+        entityCacheEvictor.evictAfterCompletion(Item.class, itemId);
+        versionTags.incrementAfterCompletion(VersionTags.item(itemId), VersionTags.ownerItems(ownerId));
+
+        return ItemMapper.toItemDto(updated);
+    }
+
+    /**
+     * Индексы поиска в памяти обновляются после фиксации транзакции, как счётчики ETag и кэш второго уровня:
+     * иначе параллельный поиск нашёл бы вещь, которой после отката нет в базе.
+     */
+    private void indexAfterCommit(List<Item> items) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(items);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(items);
+            }
+        });
+    }
+
+    private void index(List<Item> items) {
+        for (Item item : items) {
+            fullTextItemSearch.index(item);
+            fuzzyItemSearch.index(item);
+        }
+    }
+
+    private String getRequestNotFoundMessage(Long requestId) {
+        return "Запрос с id = " + requestId + " для вещи не найден";
+    }
+
+    private List<Item> findAllByIdsInOrder(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return itemIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .filter(Item::getAvailable)
+                .toList();
+    }
+
     private Map<Long, List<Comment>> findCommentsByItems(List<Item> items) {
         List<Long> itemIds = items.stream().map(Item::getId).toList();
 
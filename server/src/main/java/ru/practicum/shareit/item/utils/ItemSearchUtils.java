@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@UtilityClass
+public class ItemSearchUtils {
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Разбивает текст на слова в нижнем регистре, отбрасывая пунктуацию и пробелы.
+     *
+     * @param text исходный текст, может быть null
+     * @return список слов в порядке их появления в тексте
+     */
+    public List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Возвращает множество триграмм слова. Слово дополняется маркерами начала и конца,
+     * поэтому у слова длины n ровно n + 2 триграммы (с учётом повторов).
+     *
+     * @param word слово в нижнем регистре
+     * @return множество различных триграмм
+     */
+    public Set<String> trigrams(String word) {
+        String padded = "$$" + word + "$";
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    /**
+     * Считает расстояние Левенштейна между словами, прекращая вычисления,
+     * как только оно гарантированно превысит {@code maxDistance}.
+     *
+     * @return расстояние или {@code maxDistance + 1}, если слова отличаются сильнее
+     */
+    public int levenshtein(String first, String second, int maxDistance) {
+        if (Math.abs(first.length() - second.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return Math.min(previous[second.length()], maxDistance + 1);
+    }
+}
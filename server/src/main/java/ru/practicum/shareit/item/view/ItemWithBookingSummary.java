@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.view;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+@Getter
+@RequiredArgsConstructor
+public class ItemWithBookingSummary {
+    private final Item item;
+    private final ItemBookingSummary summary;
+}
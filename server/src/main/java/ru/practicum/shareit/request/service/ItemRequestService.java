@@ -10,6 +10,8 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAll();
 
+    String getAllTag();
+
     List<ItemRequestWithItemsDto> getAllOfOwnerWithItems(long userId);
 
     ItemRequestWithItemsDto getById(long userId, long itemRequestId);
@@ -13,6 +13,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.share.etag.VersionTags;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
@@ -29,6 +30,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository repository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final VersionTags versionTags;
 
     @Override
     public List<ItemRequestDto> getAll() {
@@ -37,6 +39,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public String getAllTag() {
+        return versionTags.tag("requests", VersionTags.REQUESTS);
+    }
+
     @Override
     public List<ItemRequestWithItemsDto> getAllOfOwnerWithItems(long userId) {
         List<ItemRequest> itemRequests = repository.findAllByRequestor_IdOrderByCreatedDesc(userId);
@@ -88,6 +95,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, requestor);
 
         ItemRequest created = repository.save(itemRequest);
+        versionTags.incrementAfterCompletion(VersionTags.REQUESTS);
 
         return ItemRequestMapper.toItemRequestDto(created);
     }
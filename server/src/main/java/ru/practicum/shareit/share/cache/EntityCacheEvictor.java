@@ -0,0 +1,34 @@
+package ru.practicum.shareit.share.cache;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Удаляет сущность из кэша второго уровня Hibernate.
+ * Внутри транзакции удаление откладывается до её завершения: иначе параллельный запрос успел бы
+ * положить в кэш ещё не изменённую строку, и она жила бы там до истечения срока региона.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictAfterCompletion(Class<?> entityClass, Object id) {
+        Cache cache = entityManagerFactory.getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.evict(entityClass, id);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.evict(entityClass, id);
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.share.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Страница результатов keyset-пагинации.
+ * {@code nextCursor} равен null, если следующей страницы нет.
+ */
+@Data
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.share.etag;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Счётчики версий данных, из которых собираются ETag ответов. Проверить ETag можно, не читая сами данные:
+ * методы записи увеличивают версии затронутых ключей, а ETag меняется вместе с ними.
+ * Ключи распределены по фиксированному набору счётчиков, как в {@link ru.practicum.shareit.share.lock.StripedLocks}:
+ * совпадение полосы даёт лишь лишнюю смену ETag, но не устаревший ответ.
+ * Счётчики живут в памяти экземпляра сервера, поэтому в ETag входит время его запуска.
+ */
+@Component
+public class VersionTags {
+    public static final String USER_NAMES = "user-names";
+    public static final String REQUESTS = "requests";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLongArray versions;
+    private final int mask;
+
+    @Autowired
+    public VersionTags(@Value("${shareit.etag.stripes:4096}") int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Количество счётчиков версий должно быть положительным: " + stripes);
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        versions = new AtomicLongArray(size);
+        mask = size - 1;
+    }
+
+    public static String user(Long userId) {
+        return "user:" + userId;
+    }
+
+    public static String item(Long itemId) {
+        return "item:" + itemId;
+    }
+
+    public static String ownerItems(Long ownerId) {
+        return "owner-items:" + ownerId;
+    }
+
+    /**
+     * Собирает слабый ETag из версий ключей. {@code variant} различает разные представления одних данных.
+     * Версии нужно прочитать до чтения данных ответа: тогда ETag никогда не окажется новее тела.
+     */
+    public String tag(String variant, String... keys) {
+        StringBuilder tag = new StringBuilder("W/\"").append(epoch).append('.').append(variant);
+        for (String key : keys) {
+            tag.append('.').append(Long.toString(versions.get(index(key)), Character.MAX_RADIX));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Увеличивает версии ключей после завершения текущей транзакции: если сделать это раньше,
+     * параллельный запрос успел бы выдать старые данные под новым ETag.
+     */
+    public void incrementAfterCompletion(String... keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(keys);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                increment(keys);
+            }
+        });
+    }
+
+    private void increment(String... keys) {
+        for (String key : keys) {
+            versions.incrementAndGet(index(key));
+        }
+    }
+
+    private int index(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
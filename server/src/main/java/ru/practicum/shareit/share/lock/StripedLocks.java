@@ -0,0 +1,35 @@
+package ru.practicum.shareit.share.lock;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Фиксированный набор блокировок, между которыми ключи распределяются по хешу.
+ * Один и тот же ключ всегда получает одну и ту же блокировку, а разные ключи
+ * конкурируют только при попадании в одну полосу.
+ */
+public class StripedLocks {
+    private final Lock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Количество полос блокировки должно быть положительным: " + stripes);
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    public Lock get(Object key) {
+        int hash = key.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
@@ -15,8 +16,11 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping("/{userId}")
-    @ResponseStatus(HttpStatus.OK)
-    public UserDto getById(@PathVariable Long userId) {
+    public UserDto getById(@PathVariable Long userId, WebRequest request) {
+        String etag = userService.getByIdTag(userId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         return userService.getById(userId);
     }
 
@@ -7,6 +7,8 @@ public interface UserService {
 
     UserDto getById(Long userId);
 
+    String getByIdTag(Long userId);
+
     void delete(Long userId);
 
     UserDto create(UserDto userDto);
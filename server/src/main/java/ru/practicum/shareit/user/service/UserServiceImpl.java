@@ -5,6 +5,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.core.error.exception.DuplicateDataException;
 import ru.practicum.shareit.core.error.exception.NotFoundException;
+import ru.practicum.shareit.share.cache.EntityCacheEvictor;
+import ru.practicum.shareit.share.etag.VersionTags;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -18,6 +20,8 @@ import ru.practicum.shareit.user.utils.UserUtils;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final VersionTags versionTags;
 
     @Override
     public UserDto getById(Long userId) {
@@ -26,10 +30,17 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException(UserMessageUtils.getUserNotFountMessage(userId)));
     }
 
+    @Override
+    public String getByIdTag(Long userId) {
+        return versionTags.tag("user", VersionTags.user(userId));
+    }
+
     @Override
     @Transactional
     public void delete(Long userId) {
         repository.deleteById(userId);
+        entityCacheEvictor.evictAfterCompletion(User.class, userId);
+        versionTags.incrementAfterCompletion(VersionTags.user(userId));
     }
 
     @Override
@@ -51,6 +62,9 @@ public class UserServiceImpl implements UserService {
         checkDuplicatedEmail(userDto.getEmail(), oldUser.getId());
 
         User updated = repository.save(UserUtils.updateUser(oldUser, userDto));
+        entityCacheEvictor.evictAfterCompletion(User.class, userId);
+        // Имя пользователя выводится в отзывах, поэтому меняются и ETag вещей
+        versionTags.incrementAfterCompletion(VersionTags.user(userId), VersionTags.USER_NAMES);
 
         return UserMapper.toUserDto(updated);
     }
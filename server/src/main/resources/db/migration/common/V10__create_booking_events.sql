@@ -0,0 +1,17 @@
+-- Исходящие события бронирований: записываются в одной транзакции с изменением бронирования
+-- и удаляются после доставки всем получателям. next_attempt_at = NULL у событий, для которых исчерпаны попытки
+CREATE SEQUENCE IF NOT EXISTS booking_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS booking_events (
+  id BIGINT NOT NULL,
+  event_type VARCHAR(20) NOT NULL,
+  booking_id BIGINT NOT NULL,
+  item_id BIGINT NOT NULL,
+  occurred_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  attempts INTEGER NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMP WITHOUT TIME ZONE,
+  last_error VARCHAR(1000),
+  CONSTRAINT pk_booking_events PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_booking_events_next_attempt_at ON booking_events (next_attempt_at, id);
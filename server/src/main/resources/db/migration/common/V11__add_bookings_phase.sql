@@ -0,0 +1,6 @@
+-- Фаза бронирования относительно текущего момента: FUTURE, CURRENT или PAST. Её сдвигает вперёд планировщик,
+-- поэтому FUTURE по умолчанию всегда допустимо. Сразу помечаются только бронирования, закончившиеся больше
+-- суток назад: запас покрывает разницу между UTC в таблице и часовым поясом базы, остальные доведёт планировщик
+ALTER TABLE bookings ADD COLUMN phase VARCHAR(10) DEFAULT 'FUTURE' NOT NULL;
+
+UPDATE bookings SET phase = 'PAST' WHERE end_date < CAST(CURRENT_TIMESTAMP AS TIMESTAMP) - INTERVAL '1' DAY;
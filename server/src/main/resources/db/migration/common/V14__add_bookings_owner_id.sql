@@ -0,0 +1,14 @@
+-- Копия владельца вещи в бронированиях: списки владельца читаются из одной таблицы без соединения с items.
+-- Внешний ключ (item_id, owner_id) не даёт копии разойтись с вещью и переносит на бронирования смену владельца
+ALTER TABLE bookings ADD COLUMN owner_id BIGINT;
+
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items AS i WHERE i.id = bookings.item_id);
+
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
+ALTER TABLE items ADD CONSTRAINT uq_items_id_owner_id UNIQUE (id, owner_id);
+
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_item_id_owner_id FOREIGN KEY (item_id, owner_id)
+  REFERENCES items (id, owner_id) ON UPDATE CASCADE;
+
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_id_start_date ON bookings (owner_id, start_date DESC, id DESC);
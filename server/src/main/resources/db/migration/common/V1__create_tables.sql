@@ -48,4 +48,4 @@ CREATE TABLE IF NOT EXISTS comments (
   CONSTRAINT pk_comment PRIMARY KEY (id),
   CONSTRAINT fk_comment_item_id FOREIGN KEY (item_id) REFERENCES items (id),
   CONSTRAINT fk_comment_author_id FOREIGN KEY (author_id) REFERENCES users (id)
-)
+);
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+  item_id BIGINT NOT NULL,
+  last_booking_end TIMESTAMP WITHOUT TIME ZONE,
+  next_booking_start TIMESTAMP WITHOUT TIME ZONE,
+  active_booking_id BIGINT,
+  refresh_at TIMESTAMP WITHOUT TIME ZONE,
+  CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id),
+  CONSTRAINT fk_item_booking_summary_item_id FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS ix_item_booking_summary_refresh_at ON item_booking_summary (refresh_at);
+
+-- Сводки существующих вещей помечаются устаревшими и будут рассчитаны планировщиком
+INSERT INTO item_booking_summary (item_id, refresh_at)
+SELECT id, TIMESTAMP '1970-01-01 00:00:00' FROM items;
@@ -0,0 +1,2 @@
+-- Последнее завершившееся бронирование вещи читается с конца этого индекса без обращения к таблице
+CREATE INDEX IF NOT EXISTS ix_bookings_item_id_end_date ON bookings (item_id, end_date);
@@ -0,0 +1,22 @@
+-- Статус и фаза бронирования хранятся порядковыми номерами констант BookingStatus и BookingPhase
+
+ALTER TABLE bookings ADD COLUMN status_code SMALLINT;
+UPDATE bookings SET status_code = CASE status
+  WHEN 'WAITING' THEN 0
+  WHEN 'APPROVED' THEN 1
+  WHEN 'REJECTED' THEN 2
+  WHEN 'CANCELED' THEN 3
+  WHEN 'EXPIRED' THEN 4
+END;
+ALTER TABLE bookings DROP COLUMN status;
+ALTER TABLE bookings ALTER COLUMN status_code RENAME TO status;
+ALTER TABLE bookings ALTER COLUMN status SET NOT NULL;
+
+ALTER TABLE bookings ADD COLUMN phase_code SMALLINT DEFAULT 0 NOT NULL;
+UPDATE bookings SET phase_code = CASE phase
+  WHEN 'FUTURE' THEN 0
+  WHEN 'CURRENT' THEN 1
+  WHEN 'PAST' THEN 2
+END;
+ALTER TABLE bookings DROP COLUMN phase;
+ALTER TABLE bookings ALTER COLUMN phase_code RENAME TO phase;
@@ -0,0 +1,6 @@
+-- Идентификаторы вещей выдаёт последовательность: Hibernate резервирует их блоками по 50
+-- и может отправлять вставки пачками, чего не позволяет столбец IDENTITY
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR items_seq;
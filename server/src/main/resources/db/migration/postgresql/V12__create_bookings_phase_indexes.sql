@@ -0,0 +1,14 @@
+-- Частичные индексы по незавершённым бронированиям: прошедших у пользователя больше всего,
+-- а состояния CURRENT и FUTURE и планировщик их не читают
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_id_start_date_open ON bookings (booker_id, start_date DESC, id DESC)
+  WHERE phase IN ('FUTURE', 'CURRENT');
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_id_start_date_open ON bookings (item_id, start_date DESC, id DESC)
+  WHERE phase IN ('FUTURE', 'CURRENT');
+
+-- Порции планировщика: закончившиеся, начавшиеся и неотвеченные бронирования
+CREATE INDEX IF NOT EXISTS ix_bookings_end_date_open ON bookings (end_date) WHERE phase IN ('FUTURE', 'CURRENT');
+
+CREATE INDEX IF NOT EXISTS ix_bookings_start_date_future ON bookings (start_date) WHERE phase = 'FUTURE';
+
+CREATE INDEX IF NOT EXISTS ix_bookings_start_date_waiting ON bookings (start_date, id) WHERE status = 'WAITING';
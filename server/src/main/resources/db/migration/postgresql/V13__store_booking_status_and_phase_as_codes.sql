@@ -0,0 +1,57 @@
+-- Статус и фаза бронирования хранятся порядковыми номерами констант BookingStatus и BookingPhase.
+-- Ограничение и частичные индексы, которые ссылаются на строковые значения, пересоздаются с кодами
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS ex_bookings_item_id_period;
+DROP INDEX IF EXISTS ix_bookings_booker_id_start_date_open;
+DROP INDEX IF EXISTS ix_bookings_item_id_start_date_open;
+DROP INDEX IF EXISTS ix_bookings_end_date_open;
+DROP INDEX IF EXISTS ix_bookings_start_date_future;
+DROP INDEX IF EXISTS ix_bookings_start_date_waiting;
+
+ALTER TABLE bookings ALTER COLUMN status TYPE SMALLINT USING CASE status
+  WHEN 'WAITING' THEN 0
+  WHEN 'APPROVED' THEN 1
+  WHEN 'REJECTED' THEN 2
+  WHEN 'CANCELED' THEN 3
+  WHEN 'EXPIRED' THEN 4
+END;
+
+ALTER TABLE bookings ALTER COLUMN phase DROP DEFAULT;
+ALTER TABLE bookings ALTER COLUMN phase TYPE SMALLINT USING CASE phase
+  WHEN 'FUTURE' THEN 0
+  WHEN 'CURRENT' THEN 1
+  WHEN 'PAST' THEN 2
+END;
+ALTER TABLE bookings ALTER COLUMN phase SET DEFAULT 0;
+
+-- WAITING и APPROVED
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_id_period
+  EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+  WHERE (status IN (0, 1));
+
+-- FUTURE и CURRENT
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_id_start_date_open ON bookings (booker_id, start_date DESC, id DESC)
+  WHERE phase IN (0, 1);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_id_start_date_open ON bookings (item_id, start_date DESC, id DESC)
+  WHERE phase IN (0, 1);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_end_date_open ON bookings (end_date) WHERE phase IN (0, 1);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_start_date_future ON bookings (start_date) WHERE phase = 0;
+
+-- Состояния WAITING и REJECTED списков бронирований: таких бронирований немного, и полный индекс по автору
+-- или вещи пришлось бы просматривать до конца истории, отбрасывая остальные статусы
+CREATE INDEX IF NOT EXISTS ix_bookings_start_date_waiting ON bookings (start_date, id) WHERE status = 0;
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_id_start_date_waiting ON bookings (booker_id, start_date DESC, id DESC)
+  WHERE status = 0;
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_id_start_date_rejected ON bookings (booker_id, start_date DESC, id DESC)
+  WHERE status = 2;
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_id_start_date_waiting ON bookings (item_id, start_date DESC, id DESC)
+  WHERE status = 0;
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_id_start_date_rejected ON bookings (item_id, start_date DESC, id DESC)
+  WHERE status = 2;
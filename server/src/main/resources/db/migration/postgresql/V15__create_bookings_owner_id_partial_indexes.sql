@@ -0,0 +1,18 @@
+-- Частичные индексы списков владельца переходят с item_id на owner_id: запросы владельца больше не соединяют
+-- бронирования с вещами, а индексы по item_id для них были нужны только ради этого соединения
+
+DROP INDEX IF EXISTS ix_bookings_item_id_start_date_open;
+DROP INDEX IF EXISTS ix_bookings_item_id_start_date_waiting;
+DROP INDEX IF EXISTS ix_bookings_item_id_start_date_rejected;
+
+-- FUTURE и CURRENT
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_id_start_date_open ON bookings (owner_id, start_date DESC, id DESC)
+  WHERE phase IN (0, 1);
+
+-- WAITING
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_id_start_date_waiting ON bookings (owner_id, start_date DESC, id DESC)
+  WHERE status = 0;
+
+-- REJECTED
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_id_start_date_rejected ON bookings (owner_id, start_date DESC, id DESC)
+  WHERE status = 2;
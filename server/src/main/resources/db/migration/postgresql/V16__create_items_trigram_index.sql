@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_trigram ON items
+  USING GIN ((name || ' ' || description) gin_trgm_ops);
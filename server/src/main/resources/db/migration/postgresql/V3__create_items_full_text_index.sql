@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS ix_items_full_text ON items
+  USING GIN (to_tsvector('russian', name || ' ' || description));
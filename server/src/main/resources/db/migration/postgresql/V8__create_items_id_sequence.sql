@@ -0,0 +1,8 @@
+-- Идентификаторы вещей выдаёт последовательность: Hibernate резервирует их блоками по 50
+-- и может отправлять вставки пачками, чего не позволяет столбец IDENTITY
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+SELECT setval('items_seq', COALESCE((SELECT MAX(id) FROM items), 0) + 1, false);
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+ALTER SEQUENCE items_seq OWNED BY items.id;
@@ -12,11 +12,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.enums.BookingStatusView;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.share.dto.CursorPage;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
@@ -116,6 +118,24 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("REJECTED"));
     }
 
+    @Test
+    void approveAll_shouldReturnResultPerBooking() throws Exception {
+        when(bookingService.approveAll(1L, List.of(1L, 2L), true)).thenReturn(List.of(
+                BatchBookingResultDto.changed(1L, BookingStatus.APPROVED),
+                BatchBookingResultDto.failed(2L, "Бронирование с id = 2 не найдено")));
+
+        mvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1L))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].bookingId").value(2L))
+                .andExpect(jsonPath("$[1].error").value("Бронирование с id = 2 не найдено"));
+    }
+
     @Test
     void approve_shouldReturnBadRequestWhenHeaderIsMissing() throws Exception {
         mvc.perform(patch("/bookings/1")
@@ -145,7 +165,8 @@ class BookingControllerTest {
     void getAllByBooker_shouldReturnBookingsList() throws Exception {
         BookingDto pastBookingDto = new BookingDto(2L, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
                 BookingStatus.APPROVED, bookingDto.getBooker(), null);
-        when(bookingService.getAllByBooker(anyLong(), eq(BookingStatusView.PAST))).thenReturn(List.of(pastBookingDto));
+        when(bookingService.getAllByBooker(anyLong(), eq(BookingStatusView.PAST), any(), anyInt(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(pastBookingDto), null));
 
         mvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L)
@@ -159,7 +180,8 @@ class BookingControllerTest {
 
     @Test
     void getAllByBooker_shouldReturnBookingsListWithDefaultState() throws Exception {
-        when(bookingService.getAllByBooker(anyLong(), any(BookingStatusView.class))).thenReturn(List.of(bookingDto));
+        when(bookingService.getAllByBooker(anyLong(), any(BookingStatusView.class), any(), anyInt(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), null));
 
         mvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L))
@@ -169,6 +191,31 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1L));
     }
 
+    @Test
+    void getAllByBooker_shouldReturnNextCursorHeaderWhenNextPageExists() throws Exception {
+        when(bookingService.getAllByBooker(anyLong(), eq(BookingStatusView.ALL), eq("abc"), eq(0), eq(1)))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), "def"));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void getAllByBooker_shouldNotReturnNextCursorHeaderOnLastPage() throws Exception {
+        when(bookingService.getAllByBooker(anyLong(), any(BookingStatusView.class), any(), anyInt(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), null));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @Test
     void getAllByBooker_shouldReturnBadRequestWhenHeaderIsMissing() throws Exception {
         mvc.perform(get("/bookings")
@@ -180,7 +227,8 @@ class BookingControllerTest {
     void getAllByOwner_shouldReturnBookingsList() throws Exception {
         BookingDto futureBookingDto = new BookingDto(3L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
                 BookingStatus.WAITING, bookingDto.getBooker(), null);
-        when(bookingService.getAllByOwner(anyLong(), eq(BookingStatusView.FUTURE))).thenReturn(List.of(futureBookingDto));
+        when(bookingService.getAllByOwner(anyLong(), eq(BookingStatusView.FUTURE), any(), anyInt(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(futureBookingDto), null));
 
         mvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
@@ -194,7 +242,8 @@ class BookingControllerTest {
 
     @Test
     void getAllByOwner_shouldReturnBookingsListWithDefaultState() throws Exception {
-        when(bookingService.getAllByOwner(anyLong(), any(BookingStatusView.class))).thenReturn(List.of(bookingDto));
+        when(bookingService.getAllByOwner(anyLong(), any(BookingStatusView.class), any(), anyInt(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), null));
 
         mvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L))
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.booking.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.dao.BookingEventRepository;
+import ru.practicum.shareit.booking.enums.BookingEventType;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingEventDispatcherTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    @Mock
+    private BookingEventRepository repository;
+
+    @Mock
+    private BookingEventConsumer consumer;
+
+    @Mock
+    private ObjectProvider<BookingEventConsumer> consumers;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private BookingEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(consumers.orderedStream()).thenReturn(Stream.of(consumer));
+        dispatcher = new BookingEventDispatcher(repository, consumers, transactionManager, meterRegistry,
+                100, MAX_ATTEMPTS, Duration.ofMinutes(1), RETRY_DELAY, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void dispatchBatch_shouldDeliverAndDeleteClaimedEvents() {
+        BookingEvent first = event(1L, 0);
+        BookingEvent second = event(2L, 0);
+        when(repository.findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(any(Instant.class), eq(Limit.of(100))))
+                .thenReturn(List.of(first, second));
+
+        int dispatched = dispatcher.dispatchBatch();
+
+        assertEquals(2, dispatched);
+        verify(consumer).consume(List.of(BookingMapper.toBookingEventDto(first), BookingMapper.toBookingEventDto(second)));
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertEquals(1, first.getAttempts());
+        assertEquals(2, count("published"));
+        assertTrue(meterRegistry.get("shareit.booking.events.lag").timeGauge().value() > 0);
+    }
+
+    @Test
+    void dispatchBatch_shouldRetryOnlyEventsThatFailedOneByOne() {
+        BookingEvent delivered = event(1L, 0);
+        BookingEvent failed = event(2L, 0);
+        when(repository.findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of(delivered, failed));
+        when(repository.findAllById(Set.of(2L))).thenReturn(List.of(failed));
+        doThrow(new IllegalStateException("получатель недоступен")).when(consumer)
+                .consume(argThat(events -> events.stream().anyMatch(event -> event.getId() == 2L)));
+
+        Instant before = Instant.now();
+        dispatcher.dispatchBatch();
+
+        verify(consumer, times(3)).consume(anyList());
+        verify(repository).deleteAllByIdInBatch(List.of(1L));
+        assertEquals(1, failed.getAttempts());
+        assertFalse(failed.getNextAttemptAt().isBefore(before.plus(RETRY_DELAY)));
+        assertTrue(failed.getLastError().contains("получатель недоступен"));
+        assertEquals(1, count("published"));
+        assertEquals(1, count("retried"));
+    }
+
+    @Test
+    void dispatchBatch_shouldStopRetryingAfterMaxAttempts() {
+        BookingEvent failed = event(1L, MAX_ATTEMPTS - 1);
+        when(repository.findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of(failed));
+        when(repository.findAllById(Set.of(1L))).thenReturn(List.of(failed));
+        doThrow(new IllegalStateException("ошибка")).when(consumer).consume(anyList());
+
+        dispatcher.dispatchBatch();
+
+        verify(consumer).consume(anyList());
+        assertEquals(MAX_ATTEMPTS, failed.getAttempts());
+        assertNull(failed.getNextAttemptAt());
+        assertEquals(1, count("dead"));
+    }
+
+    @Test
+    void dispatchBatch_shouldReturnZeroWhenNothingIsDue() {
+        when(repository.findAllByNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+        verifyNoInteractions(consumer);
+        verify(repository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("shareit.booking.events").tag("outcome", outcome).counter().count();
+    }
+
+    private static BookingEvent event(Long id, int attempts) {
+        BookingEvent event = BookingMapper.toBookingEvent(id * 10, 1L, BookingEventType.CREATED,
+                Instant.now().minusSeconds(30));
+        event.setId(id);
+        event.setAttempts(attempts);
+        return event;
+    }
+}
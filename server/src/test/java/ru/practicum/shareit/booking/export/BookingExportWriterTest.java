@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.enums.ExportFormat;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingExportWriterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final BookingDto booking = newBooking(LocalDateTime.of(2025, 1, 1, 12, 0), LocalDateTime.of(2025, 1, 2, 12, 0));
+
+    @Test
+    void ndjson_shouldWriteOneObjectPerLine() throws IOException {
+        String result = export(ExportFormat.NDJSON, booking, 2);
+
+        String line = "{\"id\":1,\"start\":\"2025-01-01T12:00:00\",\"end\":\"2025-01-02T12:00:00\",\"status\":\"APPROVED\","
+                + "\"booker\":{\"id\":2,\"name\":\"Иванов, \\\"Ваня\\\"\",\"email\":\"ivan@example.com\"},"
+                + "\"item\":{\"id\":3,\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true,\"requestId\":null}}\n";
+        assertEquals(line + line, result);
+    }
+
+    @Test
+    void csv_shouldWriteHeaderAndQuoteSpecialCharacters() throws IOException {
+        String result = export(ExportFormat.CSV, booking, 1);
+
+        assertEquals("id,start,end,status,item_id,item_name,booker_id,booker_name,booker_email\r\n"
+                + "1,2025-01-01T12:00:00,2025-01-02T12:00:00,APPROVED,3,Дрель,2,\"Иванов, \"\"Ваня\"\"\",ivan@example.com\r\n", result);
+    }
+
+    @Test
+    void csv_shouldWriteOnlyHeaderWhenThereAreNoBookings() throws IOException {
+        assertEquals("id,start,end,status,item_id,item_name,booker_id,booker_name,booker_email\r\n", export(ExportFormat.CSV, booking, 0));
+    }
+
+    @Test
+    void csv_shouldWriteDatesInFixedFormatToSeconds() throws IOException {
+        BookingDto withSeconds = newBooking(LocalDateTime.of(2025, 1, 1, 9, 5, 7, 500_000_000),
+                LocalDateTime.of(2025, 1, 2, 18, 30, 15));
+
+        String result = export(ExportFormat.CSV, withSeconds, 1);
+
+        assertEquals("id,start,end,status,item_id,item_name,booker_id,booker_name,booker_email\r\n"
+                + "1,2025-01-01T09:05:07,2025-01-02T18:30:15,APPROVED,3,Дрель,2,\"Иванов, \"\"Ваня\"\"\",ivan@example.com\r\n", result);
+    }
+
+    private static BookingDto newBooking(LocalDateTime start, LocalDateTime end) {
+        return new BookingDto(1L, start, end, BookingStatus.APPROVED,
+                new UserDto(2L, "Иванов, \"Ваня\"", "ivan@example.com"),
+                new ItemDto(3L, "Дрель", "Простая дрель", true, null));
+    }
+
+    private String export(ExportFormat format, BookingDto booking, int times) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BookingExportWriter writer = BookingExportWriter.of(format, objectMapper, out)) {
+            for (int i = 0; i < times; i++) {
+                writer.write(booking);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
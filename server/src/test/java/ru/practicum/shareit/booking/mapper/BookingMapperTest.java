@@ -3,9 +3,12 @@ package ru.practicum.shareit.booking.mapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.enums.BookingEventType;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEvent;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
@@ -79,9 +82,13 @@ class BookingMapperTest {
 
         CreateBookingDto bookingDto = new CreateBookingDto(1L, start, end);
 
+        User owner = new User();
+        owner.setId(2L);
+
         Item item = new Item();
         item.setId(1L);
         item.setName("Item");
+        item.setOwner(owner);
 
         User booker = new User();
         booker.setId(1L);
@@ -98,9 +105,37 @@ class BookingMapperTest {
             assertEquals(startInstant, result.getStart());
             assertEquals(endInstant, result.getEnd());
             assertEquals(item, result.getItem());
+            assertEquals(owner.getId(), result.getOwnerId());
             assertEquals(booker, result.getBooker());
             assertEquals(BookingStatus.WAITING, result.getStatus()); // Статус по умолчанию
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void toBookingEvent_shouldCreateEventDueAtOccurrence() {
+        Instant occurredAt = Instant.parse("2026-01-01T10:00:00Z");
+
+        BookingEvent result = BookingMapper.toBookingEvent(3L, 7L, BookingEventType.APPROVED, occurredAt);
+
+        assertNull(result.getId());
+        assertEquals(BookingEventType.APPROVED, result.getType());
+        assertEquals(3L, result.getBookingId());
+        assertEquals(7L, result.getItemId());
+        assertEquals(occurredAt, result.getOccurredAt());
+        assertEquals(occurredAt, result.getNextAttemptAt());
+        assertEquals(0, result.getAttempts());
+    }
+
+    @Test
+    void toBookingEventDto_shouldConvertBookingEventToBookingEventDto() {
+        Instant occurredAt = Instant.parse("2026-01-01T10:00:00Z");
+        BookingEvent event = BookingMapper.toBookingEvent(3L, 7L, BookingEventType.CREATED, occurredAt);
+        event.setId(11L);
+
+        BookingEventDto result = BookingMapper.toBookingEventDto(event);
+
+        assertEquals(new BookingEventDto(11L, BookingEventType.CREATED, 3L, 7L,
+                DateTimeUtils.toLocalDateTime(occurredAt)), result);
+    }
+
+}
@@ -3,30 +3,51 @@ package ru.practicum.shareit.booking.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.booking.dao.BookingEventRepository;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BatchBookingResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.enums.BookingEventType;
+import ru.practicum.shareit.booking.enums.BookingPhase;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.enums.BookingStatusView;
+import ru.practicum.shareit.booking.enums.ExportFormat;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEvent;
+import ru.practicum.shareit.booking.utils.BookingCursorUtils;
+import ru.practicum.shareit.booking.view.BookingOwnerView;
 import ru.practicum.shareit.core.error.exception.LackOfRightsException;
 import ru.practicum.shareit.core.error.exception.NotAvailableException;
 import ru.practicum.shareit.core.error.exception.NotFoundException;
+import ru.practicum.shareit.core.error.exception.NotValidException;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.lock.ItemLocks;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.share.dto.CursorPage;
 import ru.practicum.shareit.share.util.DateTimeUtils;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.ByteArrayOutputStream;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,12 +60,21 @@ class BookingServiceImplTest {
     @Mock
     private BookingRepository repository;
 
+    @Mock
+    private BookingEventRepository eventRepository;
+
     @Mock
     private ItemRepository itemRepository;
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemLocks itemLocks;
+
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -79,6 +109,9 @@ class BookingServiceImplTest {
         booking.setItem(item);
         booking.setBooker(booker);
         booking.setStatus(BookingStatus.WAITING);
+
+        lenient().when(itemLocks.executeLocked(anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
@@ -94,7 +127,10 @@ class BookingServiceImplTest {
                     .thenReturn(bookingDto);
 
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-            when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+            when(itemRepository.findWithLockById(anyLong())).thenReturn(Optional.of(item));
+            when(repository.existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(
+                    item.getId(), List.of(BookingStatus.WAITING, BookingStatus.APPROVED), booking.getEnd(), booking.getStart()))
+                    .thenReturn(false);
             when(repository.save(any(Booking.class))).thenReturn(booking);
 
             BookingDto result = bookingService.create(createBookingDto, 1L);
@@ -102,13 +138,38 @@ class BookingServiceImplTest {
             assertNotNull(result);
             assertEquals(bookingDto, result);
             verify(userRepository).findById(1L);
-            verify(itemRepository).findById(1L);
+            verify(itemLocks).executeLocked(eq(1L), any());
+            verify(itemRepository).findWithLockById(1L);
             verify(repository).save(any(Booking.class));
+            verify(eventRepository).save(any());
+            verify(itemBookingSummaryService).refresh(List.of(item.getId()));
             mockedMapper.verify(() -> BookingMapper.toBooking(any(CreateBookingDto.class), any(Item.class), any(User.class)));
+            mockedMapper.verify(() -> BookingMapper.toBookingEvent(
+                    eq(booking.getId()), eq(item.getId()), eq(BookingEventType.CREATED), any(Instant.class)));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
 
+    @Test
+    void create_shouldThrowNotAvailableExceptionWhenPeriodOverlapsExistingBooking() {
+        CreateBookingDto createBookingDto = new CreateBookingDto(1L, LocalDateTime.now().plusSeconds(3600), LocalDateTime.now().plusSeconds(7200));
+
+        try (MockedStatic<BookingMapper> mockedMapper = mockStatic(BookingMapper.class)) {
+            mockedMapper.when(() -> BookingMapper.toBooking(any(CreateBookingDto.class), any(Item.class), any(User.class)))
+                    .thenReturn(booking);
+
+            when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+            when(itemRepository.findWithLockById(anyLong())).thenReturn(Optional.of(item));
+            when(repository.existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(
+                    anyLong(), anyList(), any(Instant.class), any(Instant.class)))
+                    .thenReturn(true);
+
+            assertThrows(NotAvailableException.class, () -> bookingService.create(createBookingDto, 1L));
+            verify(repository, never()).save(any(Booking.class));
+            verifyNoInteractions(eventRepository);
+        }
+    }
+
     @Test
     void create_shouldThrowNotFoundExceptionWhenBookerNotFound() {
         Long bookerId = 999L;
@@ -128,11 +189,11 @@ class BookingServiceImplTest {
         CreateBookingDto createBookingDto = new CreateBookingDto(itemId, LocalDateTime.now().plusSeconds(3600), LocalDateTime.now().plusSeconds(7200));
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(itemRepository.findWithLockById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.create(createBookingDto, 1L));
         verify(userRepository).findById(1L);
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findWithLockById(itemId);
         verifyNoInteractions(repository);
     }
 
@@ -142,11 +203,11 @@ class BookingServiceImplTest {
         item.setAvailable(false);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findWithLockById(anyLong())).thenReturn(Optional.of(item));
 
         assertThrows(NotAvailableException.class, () -> bookingService.create(createBookingDto, 1L));
         verify(userRepository).findById(1L);
-        verify(itemRepository).findById(1L);
+        verify(itemRepository).findWithLockById(1L);
         verifyNoInteractions(repository);
     }
 
@@ -160,6 +221,7 @@ class BookingServiceImplTest {
             mockedMapper.when(() -> BookingMapper.toBookingDto(any(Booking.class)))
                     .thenReturn(bookingDto);
 
+            when(repository.findItemIdById(bookingId)).thenReturn(Optional.of(item.getId()));
             when(repository.findById(anyLong())).thenReturn(Optional.of(booking));
             when(repository.save(any(Booking.class))).thenReturn(booking);
 
@@ -168,8 +230,14 @@ class BookingServiceImplTest {
             assertNotNull(result);
             assertEquals(bookingDto, result);
             assertEquals(BookingStatus.APPROVED, booking.getStatus());
+            verify(itemLocks).executeLocked(eq(item.getId()), any());
+            verify(itemRepository).findWithLockById(item.getId());
             verify(repository).findById(bookingId);
             verify(repository).save(booking);
+            verify(eventRepository).save(any());
+            verify(itemBookingSummaryService).refresh(List.of(item.getId()));
+            mockedMapper.verify(() -> BookingMapper.toBookingEvent(
+                    eq(bookingId), eq(item.getId()), eq(BookingEventType.APPROVED), any(Instant.class)));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -184,6 +252,7 @@ class BookingServiceImplTest {
             mockedMapper.when(() -> BookingMapper.toBookingDto(any(Booking.class)))
                     .thenReturn(bookingDto);
 
+            when(repository.findItemIdById(bookingId)).thenReturn(Optional.of(item.getId()));
             when(repository.findById(anyLong())).thenReturn(Optional.of(booking));
             when(repository.save(any(Booking.class))).thenReturn(booking);
 
@@ -192,21 +261,94 @@ class BookingServiceImplTest {
             assertNotNull(result);
             assertEquals(bookingDto, result);
             assertEquals(BookingStatus.REJECTED, booking.getStatus());
+            verify(itemLocks).executeLocked(eq(item.getId()), any());
             verify(repository).findById(bookingId);
             verify(repository).save(booking);
+            mockedMapper.verify(() -> BookingMapper.toBookingEvent(
+                    eq(bookingId), eq(item.getId()), eq(BookingEventType.REJECTED), any(Instant.class)));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
 
+    @Test
+    void approveAll_shouldUpdatePendingBookingsAndReportOthers() {
+        List<BookingOwnerView> views = List.of(
+                ownerView(1L, 1L, owner.getId(), BookingStatus.WAITING),
+                ownerView(2L, 1L, owner.getId(), BookingStatus.APPROVED),
+                ownerView(3L, 5L, booker.getId(), BookingStatus.WAITING));
+        when(repository.findOwnerViewsByIdIn(Set.of(1L, 2L, 3L, 4L))).thenReturn(views);
+        when(repository.updateStatusByIdInAndOwnerId(List.of(1L), owner.getId(), BookingStatus.WAITING, BookingStatus.APPROVED))
+                .thenReturn(1);
+
+        List<BatchBookingResultDto> results = bookingService.approveAll(owner.getId(), List.of(1L, 2L, 3L, 4L, 1L), true);
+
+        assertEquals(4, results.size());
+        assertEquals(BatchBookingResultDto.changed(1L, BookingStatus.APPROVED), results.get(0));
+        assertEquals("Бронирование с id = 2 уже рассмотрено", results.get(1).getError());
+        assertEquals("Пользователь с ID 2 не является владельцем вещи с ID 5", results.get(2).getError());
+        assertEquals("Бронирование с id = 4 не найдено", results.get(3).getError());
+        InOrder inOrder = inOrder(itemRepository, repository, itemBookingSummaryService);
+        inOrder.verify(itemRepository).findAllWithLockByIdInOrderByIdAsc(Set.of(1L));
+        inOrder.verify(repository).updateStatusByIdInAndOwnerId(
+                List.of(1L), owner.getId(), BookingStatus.WAITING, BookingStatus.APPROVED);
+        inOrder.verify(itemBookingSummaryService).refresh(Set.of(1L));
+        verify(repository, never()).save(any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookingEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository).saveAll(events.capture());
+        assertEquals(1, events.getValue().size());
+        assertEquals(BookingEventType.APPROVED, events.getValue().getFirst().getType());
+        assertEquals(1L, events.getValue().getFirst().getBookingId());
+        assertEquals(1L, events.getValue().getFirst().getItemId());
+    }
+
+    @Test
+    void approveAll_shouldNotUpdateWhenNothingIsPending() {
+        BookingOwnerView rejected = ownerView(2L, 1L, owner.getId(), BookingStatus.REJECTED);
+        when(repository.findOwnerViewsByIdIn(Set.of(2L))).thenReturn(List.of(rejected));
+
+        List<BatchBookingResultDto> results = bookingService.approveAll(owner.getId(), List.of(2L), false);
+
+        assertNotNull(results.getFirst().getError());
+        verify(repository, never()).updateStatusByIdInAndOwnerId(any(), anyLong(), any(), any());
+        verifyNoInteractions(itemBookingSummaryService);
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void approveAll_shouldThrowWhenBookingWasDecidedConcurrently() {
+        BookingOwnerView waiting = ownerView(1L, 1L, owner.getId(), BookingStatus.WAITING);
+        when(repository.findOwnerViewsByIdIn(Set.of(1L))).thenReturn(List.of(waiting));
+        when(repository.updateStatusByIdInAndOwnerId(List.of(1L), owner.getId(), BookingStatus.WAITING, BookingStatus.REJECTED))
+                .thenReturn(0);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> bookingService.approveAll(owner.getId(), List.of(1L), false));
+        verifyNoInteractions(itemBookingSummaryService);
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void exportAllByOwner_shouldThrowNotFoundExceptionBeforeWritingWhenUserNotFound() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookingService.exportAllByOwner(99L, ExportFormat.CSV, out));
+        assertEquals(0, out.size());
+        verify(repository, never()).streamAllByOwnerId(anyLong());
+    }
+
     @Test
     void approve_shouldThrowNotFoundExceptionWhenBookingNotFound() {
         Long bookingId = 999L;
 
-        when(repository.findById(bookingId)).thenReturn(Optional.empty());
+        when(repository.findItemIdById(bookingId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.approve(1L, bookingId, true));
-        verify(repository).findById(bookingId);
+        verify(repository).findItemIdById(bookingId);
         verify(repository, never()).save(any());
+        verifyNoInteractions(itemLocks);
     }
 
     @Test
@@ -214,6 +356,7 @@ class BookingServiceImplTest {
         Long userId = 3L; // Не владелец
         Long bookingId = 1L;
 
+        when(repository.findItemIdById(bookingId)).thenReturn(Optional.of(item.getId()));
         when(repository.findById(anyLong())).thenReturn(Optional.of(booking));
 
         assertThrows(LackOfRightsException.class, () -> bookingService.approve(userId, bookingId, true));
@@ -221,6 +364,20 @@ class BookingServiceImplTest {
         verify(repository, never()).save(any());
     }
 
+    @Test
+    void approve_shouldThrowNotAvailableExceptionWhenBookingExpired() {
+        Long bookingId = 1L;
+        booking.setStatus(BookingStatus.EXPIRED);
+
+        when(repository.findItemIdById(bookingId)).thenReturn(Optional.of(item.getId()));
+        when(repository.findById(anyLong())).thenReturn(Optional.of(booking));
+
+        assertThrows(NotAvailableException.class,
+                () -> bookingService.approve(booking.getItem().getOwner().getId(), bookingId, true));
+        verify(repository, never()).save(any());
+        verifyNoInteractions(eventRepository);
+    }
+
     @Test
     void getById_shouldReturnBookingDtoWhenUserIsBooker() {
         Long bookingId = 1L;
@@ -298,15 +455,15 @@ class BookingServiceImplTest {
             mockedDateTimeUtils.when(() -> DateTimeUtils.toUTC(any(LocalDateTime.class)))
                     .thenReturn(Instant.now());
 
-            when(repository.findAllByBooker_IdAndEndIsAfterAndStartIsBeforeOrderByStartDesc(anyLong(), any(Instant.class), any(Instant.class)))
-                    .thenReturn(bookings);
+            when(repository.findAllByBooker_IdAndPhaseInAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(anyLong(), eq(List.of(BookingPhase.FUTURE, BookingPhase.CURRENT)), any(Instant.class), any(Instant.class), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.CURRENT);
+            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.CURRENT, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
-            verify(repository).findAllByBooker_IdAndEndIsAfterAndStartIsBeforeOrderByStartDesc(anyLong(), any(Instant.class), any(Instant.class));
+            verify(repository).findAllByBooker_IdAndPhaseInAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(anyLong(), eq(List.of(BookingPhase.FUTURE, BookingPhase.CURRENT)), any(Instant.class), any(Instant.class), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -325,15 +482,15 @@ class BookingServiceImplTest {
             mockedDateTimeUtils.when(() -> DateTimeUtils.toUTC(any(LocalDateTime.class)))
                     .thenReturn(Instant.now());
 
-            when(repository.findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(Instant.class)))
-                    .thenReturn(bookings);
+            when(repository.findAllByBooker_IdAndEndIsBeforeOrderByStartDescIdDesc(anyLong(), any(Instant.class), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.PAST);
+            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.PAST, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
-            verify(repository).findAllByBooker_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(Instant.class));
+            verify(repository).findAllByBooker_IdAndEndIsBeforeOrderByStartDescIdDesc(anyLong(), any(Instant.class), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -352,15 +509,15 @@ class BookingServiceImplTest {
             mockedDateTimeUtils.when(() -> DateTimeUtils.toUTC(any(LocalDateTime.class)))
                     .thenReturn(Instant.now());
 
-            when(repository.findAllByBooker_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(Instant.class)))
-                    .thenReturn(bookings);
+            when(repository.findAllByBooker_IdAndPhaseAndStartIsAfterOrderByStartDescIdDesc(anyLong(), eq(BookingPhase.FUTURE), any(Instant.class), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.FUTURE);
+            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.FUTURE, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
-            verify(repository).findAllByBooker_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(Instant.class));
+            verify(repository).findAllByBooker_IdAndPhaseAndStartIsAfterOrderByStartDescIdDesc(anyLong(), eq(BookingPhase.FUTURE), any(Instant.class), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -375,15 +532,15 @@ class BookingServiceImplTest {
             mockedMapper.when(() -> BookingMapper.toBookingDto(any(Booking.class)))
                     .thenReturn(bookingDto);
 
-            when(repository.findAllByBooker_IdAndStatusOrderByStartDesc(anyLong(), any(BookingStatus.class)))
-                    .thenReturn(bookings);
+            when(repository.findAllByBooker_IdAndStatusOrderByStartDescIdDesc(anyLong(), any(BookingStatus.class), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.WAITING);
+            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.WAITING, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
-            verify(repository).findAllByBooker_IdAndStatusOrderByStartDesc(anyLong(), eq(BookingStatus.WAITING));
+            verify(repository).findAllByBooker_IdAndStatusOrderByStartDescIdDesc(anyLong(), eq(BookingStatus.WAITING), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -398,15 +555,15 @@ class BookingServiceImplTest {
             mockedMapper.when(() -> BookingMapper.toBookingDto(any(Booking.class)))
                     .thenReturn(bookingDto);
 
-            when(repository.findAllByBooker_IdAndStatusOrderByStartDesc(anyLong(), any(BookingStatus.class)))
-                    .thenReturn(bookings);
+            when(repository.findAllByBooker_IdAndStatusOrderByStartDescIdDesc(anyLong(), any(BookingStatus.class), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.REJECTED);
+            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.REJECTED, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
-            verify(repository).findAllByBooker_IdAndStatusOrderByStartDesc(anyLong(), eq(BookingStatus.REJECTED));
+            verify(repository).findAllByBooker_IdAndStatusOrderByStartDescIdDesc(anyLong(), eq(BookingStatus.REJECTED), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -421,15 +578,15 @@ class BookingServiceImplTest {
             mockedMapper.when(() -> BookingMapper.toBookingDto(any(Booking.class)))
                     .thenReturn(bookingDto);
 
-            when(repository.findAllByBooker_IdOrderByStartDesc(anyLong()))
-                    .thenReturn(bookings);
+            when(repository.findAllByBooker_IdOrderByStartDescIdDesc(anyLong(), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.ALL);
+            List<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.ALL, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
-            verify(repository).findAllByBooker_IdOrderByStartDesc(anyLong());
+            verify(repository).findAllByBooker_IdOrderByStartDescIdDesc(anyLong(), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -449,16 +606,16 @@ class BookingServiceImplTest {
                     .thenReturn(Instant.now());
 
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-            when(repository.findAllByItem_Owner_IdAndEndIsAfterAndStartIsBeforeOrderByStartDesc(anyLong(), any(Instant.class), any(Instant.class)))
-                    .thenReturn(bookings);
+            when(repository.findAllByOwnerIdAndPhaseInAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(anyLong(), eq(List.of(BookingPhase.FUTURE, BookingPhase.CURRENT)), any(Instant.class), any(Instant.class), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.CURRENT);
+            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.CURRENT, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
             verify(userRepository).findById(anyLong());
-            verify(repository).findAllByItem_Owner_IdAndEndIsAfterAndStartIsBeforeOrderByStartDesc(anyLong(), any(Instant.class), any(Instant.class));
+            verify(repository).findAllByOwnerIdAndPhaseInAndEndIsAfterAndStartIsBeforeOrderByStartDescIdDesc(anyLong(), eq(List.of(BookingPhase.FUTURE, BookingPhase.CURRENT)), any(Instant.class), any(Instant.class), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -478,16 +635,16 @@ class BookingServiceImplTest {
                     .thenReturn(Instant.now());
 
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-            when(repository.findAllByItem_Owner_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(Instant.class)))
-                    .thenReturn(bookings);
+            when(repository.findAllByOwnerIdAndEndIsBeforeOrderByStartDescIdDesc(anyLong(), any(Instant.class), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.PAST);
+            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.PAST, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
             verify(userRepository).findById(anyLong());
-            verify(repository).findAllByItem_Owner_IdAndEndIsBeforeOrderByStartDesc(anyLong(), any(Instant.class));
+            verify(repository).findAllByOwnerIdAndEndIsBeforeOrderByStartDescIdDesc(anyLong(), any(Instant.class), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -507,16 +664,16 @@ class BookingServiceImplTest {
                     .thenReturn(Instant.now());
 
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-            when(repository.findAllByItem_Owner_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(Instant.class)))
-                    .thenReturn(bookings);
+            when(repository.findAllByOwnerIdAndPhaseAndStartIsAfterOrderByStartDescIdDesc(anyLong(), eq(BookingPhase.FUTURE), any(Instant.class), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.FUTURE);
+            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.FUTURE, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
             verify(userRepository).findById(anyLong());
-            verify(repository).findAllByItem_Owner_IdAndStartIsAfterOrderByStartDesc(anyLong(), any(Instant.class));
+            verify(repository).findAllByOwnerIdAndPhaseAndStartIsAfterOrderByStartDescIdDesc(anyLong(), eq(BookingPhase.FUTURE), any(Instant.class), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -532,16 +689,16 @@ class BookingServiceImplTest {
                     .thenReturn(bookingDto);
 
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-            when(repository.findAllByItem_Owner_IdAndStatusOrderByStartDesc(anyLong(), any(BookingStatus.class)))
-                    .thenReturn(bookings);
+            when(repository.findAllByOwnerIdAndStatusOrderByStartDescIdDesc(anyLong(), any(BookingStatus.class), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.WAITING);
+            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.WAITING, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
             verify(userRepository).findById(anyLong());
-            verify(repository).findAllByItem_Owner_IdAndStatusOrderByStartDesc(anyLong(), eq(BookingStatus.WAITING));
+            verify(repository).findAllByOwnerIdAndStatusOrderByStartDescIdDesc(anyLong(), eq(BookingStatus.WAITING), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -557,16 +714,16 @@ class BookingServiceImplTest {
                     .thenReturn(bookingDto);
 
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-            when(repository.findAllByItem_Owner_IdAndStatusOrderByStartDesc(anyLong(), any(BookingStatus.class)))
-                    .thenReturn(bookings);
+            when(repository.findAllByOwnerIdAndStatusOrderByStartDescIdDesc(anyLong(), any(BookingStatus.class), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.REJECTED);
+            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.REJECTED, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
             verify(userRepository).findById(anyLong());
-            verify(repository).findAllByItem_Owner_IdAndStatusOrderByStartDesc(anyLong(), eq(BookingStatus.REJECTED));
+            verify(repository).findAllByOwnerIdAndStatusOrderByStartDescIdDesc(anyLong(), eq(BookingStatus.REJECTED), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -582,16 +739,16 @@ class BookingServiceImplTest {
                     .thenReturn(bookingDto);
 
             when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-            when(repository.findAllByItem_Owner_IdOrderByStartDesc(anyLong()))
-                    .thenReturn(bookings);
+            when(repository.findAllByOwnerIdOrderByStartDescIdDesc(anyLong(), any(ScrollPosition.class), any(Limit.class)))
+                    .thenReturn(Window.from(bookings, ScrollPosition::offset));
 
-            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.ALL);
+            List<BookingDto> result = bookingService.getAllByOwner(owner.getId(), BookingStatusView.ALL, null, 0, 10).getContent();
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(bookingDto, result.getFirst());
             verify(userRepository).findById(anyLong());
-            verify(repository).findAllByItem_Owner_IdOrderByStartDesc(2L);
+            verify(repository).findAllByOwnerIdOrderByStartDescIdDesc(eq(2L), any(ScrollPosition.class), any(Limit.class));
             mockedMapper.verify(() -> BookingMapper.toBookingDto(booking));
         }
     }
@@ -602,8 +759,78 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> bookingService.getAllByOwner(userId, BookingStatusView.ALL));
+        assertThrows(NotFoundException.class, () -> bookingService.getAllByOwner(userId, BookingStatusView.ALL, null, 0, 10));
         verify(userRepository).findById(userId);
         verifyNoInteractions(repository);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllByBooker_shouldReturnNextCursorWhenNextPageExists() {
+        Booking older = new Booking();
+        older.setId(2L);
+        older.setStart(booking.getStart().minusSeconds(60));
+        Window<Booking> window = Window.from(List.of(booking, older), ScrollPosition::offset, true);
+
+        try (MockedStatic<BookingMapper> mockedMapper = mockStatic(BookingMapper.class)) {
+            mockedMapper.when(() -> BookingMapper.toBookingDto(any(Booking.class))).thenReturn(mock(BookingDto.class));
+            when(repository.findAllByBooker_IdOrderByStartDescIdDesc(anyLong(), any(ScrollPosition.class), eq(Limit.of(2))))
+                    .thenReturn(window);
+
+            CursorPage<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.ALL, null, 0, 2);
+
+            assertEquals(2, result.getContent().size());
+            assertEquals(BookingCursorUtils.encode(older), result.getNextCursor());
+        }
+    }
+
+    @Test
+    void getAllByBooker_shouldContinueFromCursor() {
+        String cursor = BookingCursorUtils.encode(booking);
+
+        when(repository.findAllByBooker_IdOrderByStartDescIdDesc(anyLong(), any(ScrollPosition.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        CursorPage<BookingDto> result = bookingService.getAllByBooker(booker.getId(), BookingStatusView.ALL, cursor, 0, 10);
+
+        assertTrue(result.getContent().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(repository).findAllByBooker_IdOrderByStartDescIdDesc(
+                booker.getId(), BookingCursorUtils.decode(cursor), Limit.of(10));
+    }
+
+    @Test
+    void getAllByBooker_shouldUseOffsetWhenCursorIsMissing() {
+        when(repository.findAllByBooker_IdOrderByStartDescIdDesc(anyLong(), any(ScrollPosition.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        bookingService.getAllByBooker(booker.getId(), BookingStatusView.ALL, null, 20, 10);
+
+        verify(repository).findAllByBooker_IdOrderByStartDescIdDesc(booker.getId(), ScrollPosition.offset(19), Limit.of(10));
+    }
+
+    @Test
+    void getAllByBooker_shouldThrowNotValidExceptionWhenSizeIsNotPositive() {
+
+        assertThrows(NotValidException.class,
+                () -> bookingService.getAllByBooker(booker.getId(), BookingStatusView.ALL, null, 0, 0));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void getAllByOwner_shouldThrowNotValidExceptionWhenCursorIsInvalid() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
+
+        assertThrows(NotValidException.class,
+                () -> bookingService.getAllByOwner(owner.getId(), BookingStatusView.ALL, "не курсор", 0, 10));
+        verifyNoInteractions(repository);
+    }
+
+    private BookingOwnerView ownerView(Long id, Long itemId, Long ownerId, BookingStatus status) {
+        BookingOwnerView view = mock(BookingOwnerView.class);
+        lenient().when(view.getId()).thenReturn(id);
+        lenient().when(view.getItemId()).thenReturn(itemId);
+        lenient().when(view.getOwnerId()).thenReturn(ownerId);
+        lenient().when(view.getStatus()).thenReturn(status);
+        return view;
+    }
+}
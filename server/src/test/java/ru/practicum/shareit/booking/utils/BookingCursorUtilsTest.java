@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.core.error.exception.NotValidException;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCursorUtilsTest {
+
+    @Test
+    void decode_shouldRestorePositionOfEncodedBookingWithMicrosecondPrecision() {
+        Booking booking = new Booking();
+        booking.setId(42L);
+        booking.setStart(Instant.ofEpochSecond(1_700_000_000L, 123_456_789));
+
+        ScrollPosition result = BookingCursorUtils.decode(BookingCursorUtils.encode(booking));
+
+        KeysetScrollPosition keyset = assertInstanceOf(KeysetScrollPosition.class, result);
+        assertTrue(keyset.scrollsForward());
+        assertEquals(Instant.ofEpochSecond(1_700_000_000L, 123_456_000), keyset.getKeys().get("start"));
+        assertEquals(42L, keyset.getKeys().get("id"));
+    }
+
+    @Test
+    void encode_shouldReturnUrlSafeCursor() {
+        Booking booking = new Booking();
+        booking.setId(Long.MAX_VALUE);
+        booking.setStart(Instant.ofEpochSecond(-1L, 999_999_999));
+
+        String result = BookingCursorUtils.encode(booking);
+
+        assertTrue(result.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_shouldThrowNotValidExceptionWhenCursorIsMalformed() {
+        assertThrows(NotValidException.class, () -> BookingCursorUtils.decode("не курсор"));
+        assertThrows(NotValidException.class, () -> BookingCursorUtils.decode("MTIz"));
+        assertThrows(NotValidException.class, () -> BookingCursorUtils.decode("YS5iOmM"));
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.enums.SearchMode;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.nio.charset.StandardCharsets;
@@ -20,6 +21,8 @@ import java.time.Instant;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -80,13 +83,58 @@ class ItemControllerTest {
 
     @Test
     void getById_shouldReturnItem() throws Exception {
-        when(itemService.getById(anyLong())).thenReturn(fullItemDto);
+        when(itemService.getById(any(), anyLong())).thenReturn(fullItemDto);
 
         mvc.perform(get("/items/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.name").value("Дрель"));
+        verify(itemService).getById(null, 1L);
+    }
+
+    @Test
+    void getById_shouldPassUserIdFromHeader() throws Exception {
+        when(itemService.getById(anyLong(), anyLong())).thenReturn(fullItemDto);
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk());
+        verify(itemService).getById(2L, 1L);
+    }
+
+    @Test
+    void getById_shouldReturnETagWithItem() throws Exception {
+        when(itemService.getByIdTag(null, 1L)).thenReturn("W/\"1\"");
+        when(itemService.getById(null, 1L)).thenReturn(fullItemDto);
+
+        mvc.perform(get("/items/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1\""))
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    void getById_shouldReturnNotModifiedWithoutReadingItemWhenETagMatches() throws Exception {
+        when(itemService.getByIdTag(2L, 1L)).thenReturn("W/\"1\"");
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 2L)
+                        .header("If-None-Match", "W/\"1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(itemService, never()).getById(any(), anyLong());
+    }
+
+    @Test
+    void getAllByOwner_shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        when(itemService.getAllByOwnerTag(1L)).thenReturn("W/\"1\"");
+
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", "W/\"1\""))
+                .andExpect(status().isNotModified());
+        verify(itemService, never()).getAllByOwner(anyLong());
     }
 
     @Test
@@ -97,7 +145,7 @@ class ItemControllerTest {
 
     @Test
     void searchAll_shouldReturnItemsList() throws Exception {
-        when(itemService.searchAll(anyString())).thenReturn(List.of(itemDto));
+        when(itemService.searchAll(anyString(), eq(SearchMode.SUBSTRING), eq(0), eq(10))).thenReturn(List.of(itemDto));
 
         mvc.perform(get("/items/search")
                         .param("text", "дрель"))
@@ -108,9 +156,22 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Дрель"));
     }
 
+    @Test
+    void searchAll_shouldPassModeAndPaginationToService() throws Exception {
+        when(itemService.searchAll("дрель", SearchMode.FULL_TEXT, 20, 5)).thenReturn(List.of(itemDto));
+
+        mvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .param("mode", "full_text")
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
     @Test
     void searchAll_shouldReturnEmptyListWhenTextIsBlank() throws Exception {
-        when(itemService.searchAll(anyString())).thenReturn(List.of());
+        when(itemService.searchAll(anyString(), any(SearchMode.class), anyInt(), anyInt())).thenReturn(List.of());
 
         mvc.perform(get("/items/search")
                         .param("text", ""))
@@ -135,6 +196,25 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.available").value(true));
     }
 
+    @Test
+    void createAll_shouldReturnResultPerItem() throws Exception {
+        when(itemService.createAll(eq(1L), anyList())).thenReturn(List.of(
+                BatchItemResultDto.created(0, itemDto),
+                BatchItemResultDto.failed(1, "Запрос с id = 999 для вещи не найден")));
+
+        mvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto, itemDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].item.id").value(1L))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].error").value("Запрос с id = 999 для вещи не найден"));
+    }
+
     @Test
     void create_shouldReturnBadRequestWhenHeaderIsMissing() throws Exception {
         mvc.perform(post("/items")
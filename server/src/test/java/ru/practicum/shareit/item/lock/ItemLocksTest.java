@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ItemLocksTest {
+
+    private ItemLocks itemLocks;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        itemLocks = new ItemLocks(64, mock(PlatformTransactionManager.class));
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void executeLocked_shouldReturnActionResult() {
+        assertEquals("result", itemLocks.executeLocked(1L, () -> "result"));
+    }
+
+    @Test
+    void executeLocked_shouldNotBlockOtherItemWhileItemIsLocked() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = holdLock(1L, locked, release);
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> other = CompletableFuture.supplyAsync(() -> itemLocks.executeLocked(2L, () -> "other"), executor);
+
+        assertEquals("other", other.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void executeLocked_shouldWaitForSameItemUntilLockIsReleased() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = holdLock(1L, locked, release);
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> same = CompletableFuture.supplyAsync(() -> itemLocks.executeLocked(1L, () -> "same"), executor);
+
+        assertThrows(TimeoutException.class, () -> same.get(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertEquals("same", same.get(5, TimeUnit.SECONDS));
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void executeLocked_shouldReleaseLockWhenActionFails() throws Exception {
+        assertThrows(IllegalStateException.class, () -> itemLocks.executeLocked(1L, () -> {
+            throw new IllegalStateException("ошибка");
+        }));
+
+        CompletableFuture<String> next = CompletableFuture.supplyAsync(() -> itemLocks.executeLocked(1L, () -> "next"), executor);
+
+        assertEquals("next", next.get(5, TimeUnit.SECONDS));
+    }
+
+    private CompletableFuture<Void> holdLock(Long itemId, CountDownLatch locked, CountDownLatch release) {
+        return CompletableFuture.runAsync(() -> itemLocks.executeLocked(itemId, () -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }), executor);
+    }
+}
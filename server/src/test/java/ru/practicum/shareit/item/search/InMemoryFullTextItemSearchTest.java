@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryFullTextItemSearchTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private InMemoryFullTextItemSearch search;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findAll()).thenReturn(List.of(
+                createItem(1L, "Дрель", "Простая дрель", true),
+                createItem(2L, "Дрель ударная", "Дрель с ударной функцией, дрель для бетона", true),
+                createItem(3L, "Отвёртка", "Аккумуляторная отвёртка", true),
+                createItem(4L, "Дрель", "Сломанная дрель", false)
+        ));
+        search.rebuild();
+    }
+
+    @Test
+    void search_shouldRankItemsWithMoreMatchesFirst() {
+        List<Long> result = search.search("дрель", 0, 10);
+
+        assertEquals(List.of(2L, 1L), result);
+    }
+
+    @Test
+    void search_shouldReturnOnlyItemsContainingAllWords() {
+        List<Long> result = search.search("ДРЕЛЬ, ударная!", 0, 10);
+
+        assertEquals(List.of(2L), result);
+    }
+
+    @Test
+    void search_shouldSkipUnavailableItems() {
+        List<Long> result = search.search("сломанная", 0, 10);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void search_shouldReturnRequestedPage() {
+        assertEquals(List.of(2L), search.search("дрель", 0, 1));
+        assertEquals(List.of(1L), search.search("дрель", 1, 1));
+        assertTrue(search.search("дрель", 2, 1).isEmpty());
+    }
+
+    @Test
+    void search_shouldReturnEmptyListWhenTextHasNoWords() {
+        assertTrue(search.search(" ,.! ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void index_shouldReplacePreviousVersionOfItem() {
+        search.index(createItem(3L, "Перфоратор", "Мощный перфоратор", true));
+
+        assertTrue(search.search("отвёртка", 0, 10).isEmpty());
+        assertEquals(List.of(3L), search.search("перфоратор", 0, 10));
+    }
+
+    @Test
+    void index_shouldIgnoreOlderVersionOfItem() {
+        Item updated = createItem(3L, "Перфоратор", "Мощный перфоратор", true);
+        updated.setVersion(2L);
+        Item stale = createItem(3L, "Отвёртка", "Крестовая отвёртка", true);
+        stale.setVersion(1L);
+
+        search.index(updated);
+        search.index(stale);
+
+        assertTrue(search.search("отвёртка", 0, 10).isEmpty());
+        assertEquals(List.of(3L), search.search("перфоратор", 0, 10));
+    }
+
+    @Test
+    void index_shouldAddNewItem() {
+        search.index(createItem(5L, "Дрель", "Новая дрель", true));
+
+        assertTrue(search.search("новая дрель", 0, 10).contains(5L));
+    }
+
+    private Item createItem(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
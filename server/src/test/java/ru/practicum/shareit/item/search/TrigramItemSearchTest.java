@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrigramItemSearchTest {
+
+    private TrigramItemSearch search;
+
+    @BeforeEach
+    void setUp() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findAll()).thenReturn(List.of(
+                createItem(1L, "Дрель", "Простая дрель", true),
+                createItem(2L, "Перфоратор", "Ударный перфоратор для бетона", true),
+                createItem(3L, "Отвёртка", "Аккумуляторная отвёртка", true),
+                createItem(4L, "Дрель", "Сломанная дрель", false)
+        ));
+        search = new TrigramItemSearch(itemRepository, 2);
+        search.rebuild();
+    }
+
+    @Test
+    void search_shouldFindExactWord() {
+        assertEquals(List.of(1L), search.search("дрель", 0, 10));
+    }
+
+    @Test
+    void search_shouldFindWordWithTypos() {
+        assertEquals(List.of(2L), search.search("перфаратр", 0, 10));
+        assertEquals(List.of(3L), search.search("акумуляторная", 0, 10));
+    }
+
+    @Test
+    void search_shouldNotFindWordWithTooManyTypos() {
+        assertTrue(search.search("дрвлт", 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldRequireEveryWordOfQuery() {
+        assertEquals(List.of(2L), search.search("ударный пирфоратор", 0, 10));
+        assertTrue(search.search("ударная дрель", 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldRankCloserMatchesFirst() {
+        search.index(createItem(5L, "Дрели", "Набор", true));
+
+        assertEquals(List.of(1L, 5L), search.search("дрель", 0, 10));
+        assertEquals(List.of(5L), search.search("дрель", 1, 10));
+    }
+
+    @Test
+    void index_shouldForgetOldWordsOfUpdatedItem() {
+        search.index(createItem(3L, "Шуруповёрт", "Компактный шуруповёрт", true));
+
+        assertTrue(search.search("отвёртка", 0, 10).isEmpty());
+        assertEquals(List.of(3L), search.search("шуруповерт", 0, 10));
+    }
+
+    @Test
+    void index_shouldIgnoreOlderVersionOfItem() {
+        Item updated = createItem(3L, "Шуруповёрт", "Компактный шуруповёрт", true);
+        updated.setVersion(2L);
+        Item stale = createItem(3L, "Отвёртка", "Аккумуляторная отвёртка", true);
+        stale.setVersion(1L);
+
+        search.index(updated);
+        search.index(stale);
+
+        assertTrue(search.search("отвёртка", 0, 10).isEmpty());
+        assertEquals(List.of(3L), search.search("шуруповёрт", 0, 10));
+    }
+
+    private Item createItem(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.view.BookingSummaryView;
+import ru.practicum.shareit.item.dao.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.share.etag.VersionTags;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBookingSummaryServiceImplTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ItemBookingSummaryRepository summaryRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private VersionTags versionTags;
+
+    private ItemBookingSummaryServiceImpl summaryService;
+
+    private final Instant now = Instant.parse("2025-01-01T12:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        summaryService = new ItemBookingSummaryServiceImpl(bookingRepository, summaryRepository, itemRepository, entityManager, versionTags, 100);
+    }
+
+    @Test
+    void compute_shouldTakeRefreshAtFromEarliestUpcomingChange() {
+        BookingSummaryView view = mock(BookingSummaryView.class);
+        when(view.getItemId()).thenReturn(1L);
+        when(view.getNextBookingStart()).thenReturn(now.plusSeconds(7200));
+        when(view.getCurrentBookingEnd()).thenReturn(now.plusSeconds(3600));
+        when(bookingRepository.findBookingSummariesByItemIds(List.of(1L, 2L), now)).thenReturn(List.of(view));
+
+        Map<Long, ItemBookingSummary> result = summaryService.compute(List.of(1L, 2L), now);
+
+        assertEquals(2, result.size());
+        assertEquals(now.plusSeconds(7200), result.get(1L).getNextBookingStart());
+        assertEquals(now.plusSeconds(3600), result.get(1L).getRefreshAt());
+        assertEquals(2L, result.get(2L).getItemId());
+        assertNull(result.get(2L).getRefreshAt());
+    }
+
+    @Test
+    void compute_shouldNotQueryBookingsForEmptyInput() {
+        assertTrue(summaryService.compute(List.of(), now).isEmpty());
+
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void refreshStale_shouldSaveRecomputedBatch() {
+        ItemBookingSummary stale = new ItemBookingSummary();
+        stale.setItemId(1L);
+        when(summaryRepository.findAllByRefreshAtLessThanOrderByRefreshAt(any(Instant.class), eq(Limit.of(100))))
+                .thenReturn(List.of(stale));
+        when(itemRepository.findAllWithSkipLockedByIdInOrderByIdAsc(List.of(1L))).thenReturn(List.of(item(1L)));
+        when(bookingRepository.findBookingSummariesByItemIds(eq(List.of(1L)), any(Instant.class))).thenReturn(List.of());
+        when(itemRepository.findOwnerIdsByIdIn(List.of(1L))).thenReturn(List.of(7L));
+
+        int refreshed = summaryService.refreshStale();
+
+        assertEquals(1, refreshed);
+        verify(summaryRepository).saveAll(argThat((Collection<ItemBookingSummary> saved) ->
+                saved.size() == 1 && saved.iterator().next().getItemId().equals(1L)));
+        verify(versionTags).incrementAfterCompletion(VersionTags.item(1L), VersionTags.ownerItems(7L));
+    }
+
+    @Test
+    void refreshStale_shouldSkipItemsLockedByConcurrentChanges() {
+        ItemBookingSummary locked = new ItemBookingSummary();
+        locked.setItemId(1L);
+        ItemBookingSummary free = new ItemBookingSummary();
+        free.setItemId(2L);
+        when(summaryRepository.findAllByRefreshAtLessThanOrderByRefreshAt(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of(locked, free));
+        when(itemRepository.findAllWithSkipLockedByIdInOrderByIdAsc(List.of(1L, 2L))).thenReturn(List.of(item(2L)));
+        when(bookingRepository.findBookingSummariesByItemIds(eq(List.of(2L)), any(Instant.class))).thenReturn(List.of());
+
+        assertEquals(1, summaryService.refreshStale());
+        verify(summaryRepository).saveAll(argThat((Collection<ItemBookingSummary> saved) ->
+                saved.size() == 1 && saved.iterator().next().getItemId().equals(2L)));
+    }
+
+    @Test
+    void refreshStale_shouldReturnZeroWhenAllItemsAreLocked() {
+        ItemBookingSummary locked = new ItemBookingSummary();
+        locked.setItemId(1L);
+        when(summaryRepository.findAllByRefreshAtLessThanOrderByRefreshAt(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of(locked));
+        when(itemRepository.findAllWithSkipLockedByIdInOrderByIdAsc(List.of(1L))).thenReturn(List.of());
+
+        assertEquals(0, summaryService.refreshStale());
+        verify(summaryRepository, never()).saveAll(any());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void refreshStale_shouldReturnZeroWhenNothingExpired() {
+        when(summaryRepository.findAllByRefreshAtLessThanOrderByRefreshAt(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of());
+
+        assertEquals(0, summaryService.refreshStale());
+        verify(summaryRepository, never()).saveAll(any());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void initialize_shouldPersistEmptySummariesWithoutReadingBookings() {
+        summaryService.initialize(List.of(1L, 2L));
+
+        verify(entityManager, times(2)).persist(argThat((ItemBookingSummary summary) ->
+                summary.getRefreshAt() == null && summary.getLastBookingEnd() == null));
+        verifyNoInteractions(bookingRepository, summaryRepository);
+    }
+
+    private Item item(Long id) {
+        Item item = new Item();
+        item.setId(id);
+        return item;
+    }
+}
@@ -7,22 +7,32 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.view.BookingDatesView;
 import ru.practicum.shareit.core.error.exception.LackOfRightsException;
 import ru.practicum.shareit.core.error.exception.NotAvailableException;
 import ru.practicum.shareit.core.error.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemBookingSummaryRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.enums.SearchMode;
+import ru.practicum.shareit.item.lock.ItemLocks;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.search.FullTextItemSearch;
+import ru.practicum.shareit.item.search.FuzzyItemSearch;
 import ru.practicum.shareit.item.utils.ItemUtils;
+import ru.practicum.shareit.item.view.ItemWithBookingSummary;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.share.cache.EntityCacheEvictor;
+import ru.practicum.shareit.share.etag.VersionTags;
 import ru.practicum.shareit.share.util.DateTimeUtils;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
@@ -30,11 +40,16 @@ import ru.practicum.shareit.user.model.User;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,6 +70,27 @@ class ItemServiceImplTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private FullTextItemSearch fullTextItemSearch;
+
+    @Mock
+    private FuzzyItemSearch fuzzyItemSearch;
+
+    @Mock
+    private ItemLocks itemLocks;
+
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Mock
+    private ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Mock
+    private VersionTags versionTags;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -65,6 +101,9 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(itemLocks.executeLocked(anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
         owner = new User();
         owner.setId(1L);
         owner.setName("Test Owner");
@@ -95,15 +134,19 @@ class ItemServiceImplTest {
         Long ownerId = 1L;
         FullItemDto fullItemDto = new FullItemDto(1L, "Test Item", "Test Description", true,
                 LocalDateTime.now().minusSeconds(3600), LocalDateTime.now().plusSeconds(3600), 1L, List.of());
-        BookingDatesView bookingDatesView = mock(BookingDatesView.class);
+        ItemBookingSummary summary = new ItemBookingSummary();
+        summary.setItemId(item.getId());
+        summary.setLastBookingEnd(Instant.now().minusSeconds(3600));
+        summary.setNextBookingStart(Instant.now().plusSeconds(3600));
+        summary.setRefreshAt(summary.getNextBookingStart());
 
         try (MockedStatic<ItemMapper> mockedMapper = mockStatic(ItemMapper.class)) {
             mockedMapper.when(() -> ItemMapper.toFullItemDto(any(Item.class), any(), any(), anyList()))
                     .thenReturn(fullItemDto);
 
-            when(bookingRepository.findLastAndNextBookingDatesByOwnerId(ownerId))
-                    .thenReturn(List.of(bookingDatesView));
-            when(itemRepository.findAllByOwner_Id(ownerId)).thenReturn(List.of(item));
+            when(itemRepository.findAllWithBookingSummaryByOwnerId(ownerId))
+                    .thenReturn(List.of(new ItemWithBookingSummary(item, summary)));
+            when(itemBookingSummaryService.compute(eq(List.of()), any(Instant.class))).thenReturn(Map.of());
             when(commentRepository.findAllByItem_IdIn(anyList())).thenReturn(List.of());
 
             List<FullItemDto> result = itemService.getAllByOwner(ownerId);
@@ -111,25 +154,56 @@ class ItemServiceImplTest {
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(fullItemDto, result.getFirst());
-            verify(bookingRepository).findLastAndNextBookingDatesByOwnerId(ownerId);
-            verify(itemRepository).findAllByOwner_Id(ownerId);
-            mockedMapper.verify(() -> ItemMapper.toFullItemDto(any(Item.class), any(), any(), anyList()));
+            verify(itemRepository).findAllWithBookingSummaryByOwnerId(ownerId);
+            verifyNoInteractions(bookingRepository);
+            mockedMapper.verify(() -> ItemMapper.toFullItemDto(item, summary.getLastBookingEnd(),
+                    summary.getNextBookingStart(), List.of()));
         }
     }
 
+    @Test
+    void getAllByOwner_shouldRecomputeStaleAndMissingSummaries() {
+        Long ownerId = 1L;
+        Item itemWithoutSummary = new Item();
+        itemWithoutSummary.setId(2L);
+        itemWithoutSummary.setOwner(owner);
+        ItemBookingSummary staleSummary = new ItemBookingSummary();
+        staleSummary.setItemId(item.getId());
+        staleSummary.setNextBookingStart(Instant.now().minusSeconds(60));
+        staleSummary.setRefreshAt(staleSummary.getNextBookingStart());
+        ItemBookingSummary recomputed = new ItemBookingSummary();
+        recomputed.setItemId(item.getId());
+        recomputed.setLastBookingEnd(Instant.now().minusSeconds(30));
+
+        when(itemRepository.findAllWithBookingSummaryByOwnerId(ownerId)).thenReturn(List.of(
+                new ItemWithBookingSummary(item, staleSummary),
+                new ItemWithBookingSummary(itemWithoutSummary, null)));
+        when(itemBookingSummaryService.compute(eq(List.of(1L, 2L)), any(Instant.class))).thenReturn(Map.of(
+                1L, recomputed,
+                2L, new ItemBookingSummary()));
+        when(commentRepository.findAllByItem_IdIn(anyList())).thenReturn(List.of());
+
+        List<FullItemDto> result = itemService.getAllByOwner(ownerId);
+
+        assertEquals(2, result.size());
+        assertEquals(DateTimeUtils.toLocalDateTime(recomputed.getLastBookingEnd()), result.getFirst().getLastBooking());
+        assertNull(result.getFirst().getNextBooking());
+        assertNull(result.get(1).getLastBooking());
+        assertNull(result.get(1).getNextBooking());
+    }
+
     @Test
     void getAllByOwner_shouldReturnEmptyListWhenNoItems() {
         Long ownerId = 1L;
 
-        when(bookingRepository.findLastAndNextBookingDatesByOwnerId(ownerId)).thenReturn(List.of());
-        when(itemRepository.findAllByOwner_Id(ownerId)).thenReturn(List.of());
+        when(itemRepository.findAllWithBookingSummaryByOwnerId(ownerId)).thenReturn(List.of());
+        when(itemBookingSummaryService.compute(eq(List.of()), any(Instant.class))).thenReturn(Map.of());
 
         List<FullItemDto> result = itemService.getAllByOwner(ownerId);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(bookingRepository).findLastAndNextBookingDatesByOwnerId(ownerId);
-        verify(itemRepository).findAllByOwner_Id(ownerId);
+        verify(itemRepository).findAllWithBookingSummaryByOwnerId(ownerId);
     }
 
     @Test
@@ -145,26 +219,76 @@ class ItemServiceImplTest {
             when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
             when(commentRepository.findAllByItem_IdIn(anyList())).thenReturn(List.of());
 
-            FullItemDto result = itemService.getById(itemId);
+            FullItemDto result = itemService.getById(2L, itemId);
 
             assertNotNull(result);
             assertEquals(fullItemDto, result);
             verify(itemRepository).findById(itemId);
             verify(commentRepository).findAllByItem_IdIn(anyList());
-            mockedMapper.verify(() -> ItemMapper.toFullItemDto(any(Item.class), any(), any(), anyList()));
+            verifyNoInteractions(bookingRepository);
+            mockedMapper.verify(() -> ItemMapper.toFullItemDto(item, null, null, List.of()));
         }
     }
 
+    @Test
+    void getById_shouldReturnLastAndNextBookingForOwner() {
+        Long itemId = 1L;
+        Instant lastBooking = Instant.now().minusSeconds(3600);
+        Instant nextBooking = Instant.now().plusSeconds(3600);
+
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItem_IdIn(anyList())).thenReturn(List.of());
+        when(bookingRepository.findLastBookingEndByItemId(eq(itemId), any(Instant.class))).thenReturn(Optional.of(lastBooking));
+        when(bookingRepository.findNextBookingStartByItemId(eq(itemId), any(Instant.class))).thenReturn(Optional.of(nextBooking));
+
+        FullItemDto result = itemService.getById(owner.getId(), itemId);
+
+        assertEquals(DateTimeUtils.toLocalDateTime(lastBooking), result.getLastBooking());
+        assertEquals(DateTimeUtils.toLocalDateTime(nextBooking), result.getNextBooking());
+    }
+
     @Test
     void getById_shouldThrowNotFoundExceptionWhenItemNotFound() {
         Long itemId = 999L;
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> itemService.getById(itemId));
+        assertThrows(NotFoundException.class, () -> itemService.getById(1L, itemId));
         verify(itemRepository).findById(itemId);
     }
 
+    @Test
+    void getByIdTag_shouldNotCheckBookingSummaryForOtherUsers() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(versionTags.tag("item", VersionTags.item(item.getId()), VersionTags.USER_NAMES)).thenReturn("W/\"1\"");
+
+        assertEquals("W/\"1\"", itemService.getByIdTag(2L, item.getId()));
+        verifyNoInteractions(itemBookingSummaryRepository);
+    }
+
+    @Test
+    void getByIdTag_shouldReturnNullForOwnerWhenBookingSummaryIsStale() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemBookingSummaryRepository.existsByItemIdAndRefreshAtLessThan(eq(item.getId()), any(Instant.class)))
+                .thenReturn(true);
+
+        assertNull(itemService.getByIdTag(owner.getId(), item.getId()));
+    }
+
+    @Test
+    void getByIdTag_shouldReturnNullWhenItemNotFound() {
+        when(itemRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertNull(itemService.getByIdTag(1L, 999L));
+    }
+
+    @Test
+    void getAllByOwnerTag_shouldReturnNullWhenAnyBookingSummaryIsStale() {
+        when(itemBookingSummaryRepository.existsStaleByOwnerId(eq(owner.getId()), any(Instant.class))).thenReturn(true);
+
+        assertNull(itemService.getAllByOwnerTag(owner.getId()));
+    }
+
     @Test
     void searchAll_shouldReturnListOfItemDtos() {
         String text = "test";
@@ -173,39 +297,103 @@ class ItemServiceImplTest {
         try (MockedStatic<ItemMapper> mockedMapper = mockStatic(ItemMapper.class)) {
             mockedMapper.when(() -> ItemMapper.toItemDto(any(Item.class))).thenReturn(itemDto);
 
-            when(itemRepository.searchAllByText(text)).thenReturn(List.of(item));
+            when(itemRepository.searchAllByText(text, 0, 10)).thenReturn(List.of(item));
 
-            List<ItemDto> result = itemService.searchAll(text);
+            List<ItemDto> result = itemService.searchAll(text, SearchMode.SUBSTRING, 0, 10);
 
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(itemDto, result.getFirst());
-            verify(itemRepository).searchAllByText(text);
+            verify(itemRepository).searchAllByText(text, 0, 10);
             mockedMapper.verify(() -> ItemMapper.toItemDto(item));
         }
     }
 
+    @Test
+    void searchAll_shouldReturnItemsInRelevanceOrderWhenModeIsFullText() {
+        String text = "test";
+        Item secondItem = new Item();
+        secondItem.setId(2L);
+        secondItem.setName("Second Item");
+        secondItem.setDescription("Test Description");
+        secondItem.setAvailable(true);
+
+        when(fullTextItemSearch.search(text, 0, 10)).thenReturn(List.of(2L, 1L));
+        when(itemRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(item, secondItem));
+
+        List<ItemDto> result = itemService.searchAll(text, SearchMode.FULL_TEXT, 0, 10);
+
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(1L, result.get(1).getId());
+        verify(fullTextItemSearch).search(text, 0, 10);
+        verify(itemRepository, never()).searchAllByText(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchAll_shouldUseTrigramSearchWhenModeIsFuzzy() {
+        String text = "dril";
+        ItemDto itemDto = new ItemDto(1L, "Test Item", "Test Description", true, 1L);
+
+        try (MockedStatic<ItemMapper> mockedMapper = mockStatic(ItemMapper.class)) {
+            mockedMapper.when(() -> ItemMapper.toItemDto(any(Item.class))).thenReturn(itemDto);
+
+            when(fuzzyItemSearch.search(text, 0, 10)).thenReturn(List.of(1L));
+            when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(item));
+
+            List<ItemDto> result = itemService.searchAll(text, SearchMode.FUZZY, 0, 10);
+
+            assertEquals(List.of(itemDto), result);
+            verify(fuzzyItemSearch).search(text, 0, 10);
+            verifyNoInteractions(fullTextItemSearch);
+        }
+    }
+
+    @Test
+    void searchAll_shouldNotQueryItemsWhenFullTextSearchFoundNothing() {
+        String text = "nonexistent";
+
+        when(fullTextItemSearch.search(text, 0, 10)).thenReturn(List.of());
+
+        List<ItemDto> result = itemService.searchAll(text, SearchMode.FULL_TEXT, 0, 10);
+
+        assertTrue(result.isEmpty());
+        verify(itemRepository, never()).findAllById(any());
+    }
+
     @Test
     void searchAll_shouldReturnEmptyListWhenTextIsBlank() {
         String text = "   ";
 
-        List<ItemDto> result = itemService.searchAll(text);
+        List<ItemDto> result = itemService.searchAll(text, SearchMode.SUBSTRING, 0, 10);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
+        verifyNoInteractions(itemRepository, fullTextItemSearch, fuzzyItemSearch);
+    }
+
+    @Test
+    void searchAll_shouldPassOffsetNotPageNumberWhenModeIsSubstring() {
+        String text = "test";
+
+        when(itemRepository.searchAllByText(text, 15, 10)).thenReturn(List.of());
+
+        itemService.searchAll(text, SearchMode.SUBSTRING, 15, 10);
+
+        verify(itemRepository).searchAllByText(text, 15, 10);
     }
 
     @Test
     void searchAll_shouldReturnEmptyListWhenNoItemsFound() {
         String text = "nonexistent";
 
-        when(itemRepository.searchAllByText(text)).thenReturn(List.of());
+        when(itemRepository.searchAllByText(text, 0, 10)).thenReturn(List.of());
 
-        List<ItemDto> result = itemService.searchAll(text);
+        List<ItemDto> result = itemService.searchAll(text, SearchMode.SUBSTRING, 0, 10);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(itemRepository).searchAllByText(text);
+        verify(itemRepository).searchAllByText(text, 0, 10);
     }
 
     @Test
@@ -231,6 +419,9 @@ class ItemServiceImplTest {
             verify(userRepository).findById(ownerId);
             verify(itemRequestRepository).findById(requestId);
             verify(itemRepository).save(any(Item.class));
+            verify(fullTextItemSearch).index(item);
+            verify(fuzzyItemSearch).index(item);
+            verify(itemBookingSummaryService).refresh(List.of(item.getId()));
             mockedMapper.verify(() -> ItemMapper.toItem(any(ItemDto.class), any(User.class), any(ItemRequest.class)));
             mockedMapper.verify(() -> ItemMapper.toItemDto(item));
         }
@@ -257,11 +448,87 @@ class ItemServiceImplTest {
             verify(userRepository).findById(ownerId);
             verifyNoInteractions(itemRequestRepository);
             verify(itemRepository).save(any(Item.class));
+            verify(fullTextItemSearch).index(item);
+            verify(fuzzyItemSearch).index(item);
             mockedMapper.verify(() -> ItemMapper.toItem(any(ItemDto.class), any(User.class), isNull()));
             mockedMapper.verify(() -> ItemMapper.toItemDto(item));
         }
     }
 
+    @Test
+    void create_shouldIndexItemOnlyAfterCommit() {
+        Long ownerId = 1L;
+        ItemDto itemDto = new ItemDto(null, "Test Item", "Test Description", true, null);
+
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(itemRepository.save(any(Item.class))).thenReturn(item);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemService.create(ownerId, itemDto);
+
+            verify(fullTextItemSearch, never()).index(any());
+            verify(fuzzyItemSearch, never()).index(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(fullTextItemSearch).index(item);
+            verify(fuzzyItemSearch).index(item);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void createAll_shouldSaveResolvedItemsAndReportUnknownRequests() {
+        Long ownerId = 1L;
+        List<ItemDto> itemDtos = List.of(
+                new ItemDto(null, "Test Item", "Test Description", true, 1L),
+                new ItemDto(null, "Other Item", "Other Description", true, 999L));
+
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findAllById(Set.of(1L, 999L))).thenReturn(List.of(itemRequest));
+        when(itemRepository.saveAll(anyList())).thenReturn(List.of(item));
+
+        List<BatchItemResultDto> result = itemService.createAll(ownerId, itemDtos);
+
+        assertEquals(2, result.size());
+        assertEquals(0, result.get(0).getIndex());
+        assertEquals(item.getId(), result.get(0).getItem().getId());
+        assertNull(result.get(0).getError());
+        assertEquals(1, result.get(1).getIndex());
+        assertNull(result.get(1).getItem());
+        assertEquals("Запрос с id = 999 для вещи не найден", result.get(1).getError());
+        verify(itemRepository).saveAll(argThat((List<Item> saved) -> saved.size() == 1));
+        verify(fullTextItemSearch).index(item);
+        verify(fuzzyItemSearch).index(item);
+        verify(itemBookingSummaryService).initialize(List.of(item.getId()));
+        verify(versionTags).incrementAfterCompletion(VersionTags.ownerItems(ownerId));
+    }
+
+    @Test
+    void createAll_shouldNotSaveWhenNoItemResolved() {
+        Long ownerId = 1L;
+        List<ItemDto> itemDtos = List.of(new ItemDto(null, "Test Item", "Test Description", true, 999L));
+
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findAllById(Set.of(999L))).thenReturn(List.of());
+
+        List<BatchItemResultDto> result = itemService.createAll(ownerId, itemDtos);
+
+        assertEquals(1, result.size());
+        assertNotNull(result.get(0).getError());
+        verifyNoInteractions(itemRepository, itemBookingSummaryService, versionTags);
+    }
+
+    @Test
+    void createAll_shouldThrowNotFoundExceptionWhenUserNotFound() {
+        List<ItemDto> itemDtos = List.of(new ItemDto(null, "Test Item", "Test Description", true, null));
+
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemService.createAll(999L, itemDtos));
+        verifyNoInteractions(itemRepository, itemRequestRepository);
+    }
+
     @Test
     void create_shouldThrowNotFoundExceptionWhenUserNotFound() {
         Long ownerId = 999L;
@@ -310,9 +577,14 @@ class ItemServiceImplTest {
 
             assertNotNull(result);
             assertEquals(updatedItemDto, result);
+            verify(itemLocks).executeLocked(eq(itemId), any());
             verify(itemRepository).findById(itemId);
             mockedUtils.verify(() -> ItemUtils.updateItem(item, updateItemDto));
             verify(itemRepository).save(item);
+            verify(fullTextItemSearch).index(item);
+            verify(fuzzyItemSearch).index(item);
+            verify(entityCacheEvictor).evictAfterCompletion(Item.class, itemId);
+            verify(versionTags).incrementAfterCompletion(VersionTags.item(itemId), VersionTags.ownerItems(ownerId));
             mockedMapper.verify(() -> ItemMapper.toItemDto(item));
         }
     }
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSearchUtilsTest {
+
+    @Test
+    void tokenize_shouldSplitTextIntoLowerCaseWords() {
+        List<String> result = ItemSearchUtils.tokenize("Дрель ударная, Bosch-500!");
+
+        assertEquals(List.of("дрель", "ударная", "bosch", "500"), result);
+    }
+
+    @Test
+    void tokenize_shouldReturnEmptyListWhenTextIsNull() {
+        assertTrue(ItemSearchUtils.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void tokenize_shouldReturnEmptyListWhenTextIsBlank() {
+        assertTrue(ItemSearchUtils.tokenize("   ").isEmpty());
+    }
+
+    @Test
+    void trigrams_shouldIncludeWordBoundaries() {
+        Set<String> result = ItemSearchUtils.trigrams("дом");
+
+        assertEquals(Set.of("$$д", "$до", "дом", "ом$"), result);
+    }
+
+    @Test
+    void levenshtein_shouldCountEdits() {
+        assertEquals(0, ItemSearchUtils.levenshtein("дрель", "дрель", 2));
+        assertEquals(1, ItemSearchUtils.levenshtein("дрель", "дрекь", 2));
+        assertEquals(1, ItemSearchUtils.levenshtein("дрель", "дрел", 2));
+        assertEquals(2, ItemSearchUtils.levenshtein("дрель", "дрльь", 2));
+    }
+
+    @Test
+    void levenshtein_shouldStopWhenDistanceExceedsLimit() {
+        assertEquals(2, ItemSearchUtils.levenshtein("дрель", "отвёртка", 1));
+        assertEquals(2, ItemSearchUtils.levenshtein("дрель", "шкаф", 1));
+    }
+}
@@ -23,6 +23,8 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -90,6 +92,16 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].description").value("Хочу арендовать дрель"));
     }
 
+    @Test
+    void getAll_shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        when(itemRequestService.getAllTag()).thenReturn("W/\"1\"");
+
+        mvc.perform(get("/requests/all")
+                        .header("If-None-Match", "W/\"1\""))
+                .andExpect(status().isNotModified());
+        verify(itemRequestService, never()).getAll();
+    }
+
     @Test
     void getById_shouldReturnRequestWithItems() throws Exception {
         when(itemRequestService.getById(anyLong(), anyLong())).thenReturn(itemRequestWithItemsDto);
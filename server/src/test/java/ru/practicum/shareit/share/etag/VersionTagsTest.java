@@ -0,0 +1,61 @@
+package ru.practicum.shareit.share.etag;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionTagsTest {
+
+    @Test
+    void tag_shouldBeWeakAndStableUntilIncrement() {
+        VersionTags versionTags = new VersionTags(16);
+
+        String tag = versionTags.tag("user", VersionTags.user(1L));
+
+        assertTrue(tag.startsWith("W/\""));
+        assertEquals(tag, versionTags.tag("user", VersionTags.user(1L)));
+    }
+
+    @Test
+    void tag_shouldDifferBetweenVariants() {
+        VersionTags versionTags = new VersionTags(16);
+
+        assertNotEquals(versionTags.tag("item", VersionTags.item(1L)), versionTags.tag("owner-item", VersionTags.item(1L)));
+    }
+
+    @Test
+    void incrementAfterCompletion_shouldChangeTagImmediatelyWithoutTransaction() {
+        VersionTags versionTags = new VersionTags(16);
+        String before = versionTags.tag("user", VersionTags.user(1L));
+
+        versionTags.incrementAfterCompletion(VersionTags.user(1L));
+
+        assertNotEquals(before, versionTags.tag("user", VersionTags.user(1L)));
+    }
+
+    @Test
+    void incrementAfterCompletion_shouldKeepTagUntilTransactionCompletes() {
+        VersionTags versionTags = new VersionTags(16);
+        String before = versionTags.tag("requests", VersionTags.REQUESTS);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            versionTags.incrementAfterCompletion(VersionTags.REQUESTS);
+            assertEquals(before, versionTags.tag("requests", VersionTags.REQUESTS));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotEquals(before, versionTags.tag("requests", VersionTags.REQUESTS));
+    }
+
+    @Test
+    void constructor_shouldThrowIllegalArgumentExceptionWhenStripesAreNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new VersionTags(0));
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.share.lock;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedLocksTest {
+
+    @Test
+    void get_shouldReturnSameLockForSameKey() {
+        StripedLocks locks = new StripedLocks(16);
+
+        assertSame(locks.get(42L), locks.get(42L));
+    }
+
+    @Test
+    void get_shouldSpreadSequentialKeysOverDifferentStripes() {
+        StripedLocks locks = new StripedLocks(16);
+
+        assertNotSame(locks.get(1L), locks.get(2L));
+    }
+
+    @Test
+    void constructor_shouldRoundStripesUpToPowerOfTwo() {
+        assertEquals(1, new StripedLocks(1).size());
+        assertEquals(64, new StripedLocks(64).size());
+        assertEquals(128, new StripedLocks(65).size());
+    }
+
+    @Test
+    void constructor_shouldThrowIllegalArgumentExceptionWhenStripesAreNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedLocks(0));
+    }
+}
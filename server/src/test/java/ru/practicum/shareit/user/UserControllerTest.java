@@ -21,6 +21,8 @@ import java.nio.charset.StandardCharsets;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -69,6 +71,17 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email").value("john.doe@example.com"));
     }
 
+    @Test
+    void getById_shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        when(userService.getByIdTag(1L)).thenReturn("W/\"1\"");
+
+        mvc.perform(get("/users/1")
+                        .header("If-None-Match", "W/\"1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"1\""));
+        verify(userService, never()).getById(anyLong());
+    }
+
     @Test
     void getById_shouldReturnBadRequestWhenUserIdIsInvalid() throws Exception {
         mvc.perform(get("/users/invalid"))
@@ -9,6 +9,8 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.core.error.exception.DuplicateDataException;
 import ru.practicum.shareit.core.error.exception.NotFoundException;
+import ru.practicum.shareit.share.cache.EntityCacheEvictor;
+import ru.practicum.shareit.share.etag.VersionTags;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -30,6 +32,12 @@ class UserServiceImplTest {
     @Mock
     private UserRepository repository;
 
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Mock
+    private VersionTags versionTags;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -94,6 +102,7 @@ class UserServiceImplTest {
         userService.delete(userId);
 
         verify(repository).deleteById(userId);
+        verify(entityCacheEvictor).evictAfterCompletion(User.class, userId);
     }
 
     @Test
@@ -156,6 +165,8 @@ class UserServiceImplTest {
             verify(repository).findByEmail(updateUserDto.getEmail());
             mockedUtils.verify(() -> UserUtils.updateUser(user, updateUserDto));
             verify(repository).save(user);
+            verify(entityCacheEvictor).evictAfterCompletion(User.class, userId);
+            verify(versionTags).incrementAfterCompletion(VersionTags.user(userId), VersionTags.USER_NAMES);
             mockedMapper.verify(() -> UserMapper.toUserDto(user));
         }
     }